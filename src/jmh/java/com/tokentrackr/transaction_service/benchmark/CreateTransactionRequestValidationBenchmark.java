@@ -0,0 +1,60 @@
+package com.tokentrackr.transaction_service.benchmark;
+
+import com.tokentrackr.transaction_service.dto.request.CreateTransactionRequest;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class CreateTransactionRequestValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CreateTransactionRequest validRequest;
+    private CreateTransactionRequest invalidRequest;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validRequest = CreateTransactionRequest.builder()
+                .cryptoId("bitcoin")
+                .transactionType(TransactionType.BUY)
+                .quantity(new BigDecimal("0.12345678"))
+                .totalSpent(new BigDecimal("7407.41"))
+                .pricePerCoin(new BigDecimal("60000.00000000"))
+                .build();
+        invalidRequest = CreateTransactionRequest.builder()
+                .cryptoId(" ")
+                .quantity(BigDecimal.ZERO)
+                .totalSpent(new BigDecimal("0.001"))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTransactionRequest>> validRequest() {
+        return validator.validate(validRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateTransactionRequest>> invalidRequest() {
+        return validator.validate(invalidRequest);
+    }
+}
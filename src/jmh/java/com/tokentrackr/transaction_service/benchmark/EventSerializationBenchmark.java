@@ -0,0 +1,80 @@
+package com.tokentrackr.transaction_service.benchmark;
+
+import com.tokentrackr.transaction_service.dto.events.*;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Price;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Serialization of every saga event through the same converter the RabbitTemplate uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class EventSerializationBenchmark {
+
+    private static final String SAGA_ID = UUID.randomUUID().toString();
+    private static final UUID TRANSACTION_ID = UUID.randomUUID();
+    private static final String USER_ID = "user-1";
+
+    private static final Map<String, Supplier<Object>> EVENTS = Map.of(
+            "BalanceUpdateEvent", () -> BalanceUpdateEvent.builder()
+                    .sagaId(SAGA_ID).transactionId(TRANSACTION_ID).userId(USER_ID)
+                    .amount(Money.parse("7407.41")).isCompensation(false)
+                    .transactionType(TransactionType.BUY).build(),
+            "BalanceUpdatedEvent", () -> BalanceUpdatedEvent.builder()
+                    .sagaId(SAGA_ID).transactionId(TRANSACTION_ID).userId(USER_ID).success(true).build(),
+            "BalanceUpdateFailedEvent", () -> BalanceUpdateFailedEvent.builder()
+                    .sagaId(SAGA_ID).transactionId(TRANSACTION_ID).userId(USER_ID)
+                    .failureReason("Insufficient balance").build(),
+            "AssetUpdateEvent", () -> AssetUpdateEvent.builder()
+                    .sagaId(SAGA_ID).transactionId(TRANSACTION_ID).userId(USER_ID).cryptoId("bitcoin")
+                    .quantity(Quantity.parse("0.12345678")).isCompensation(false)
+                    .transactionType(TransactionType.BUY).build(),
+            "AssetUpdatedEvent", () -> AssetUpdatedEvent.builder()
+                    .sagaId(SAGA_ID).transactionId(TRANSACTION_ID).userId(USER_ID).success(true).build(),
+            "AssetUpdateFailedEvent", () -> AssetUpdateFailedEvent.builder()
+                    .sagaId(SAGA_ID).transactionId(TRANSACTION_ID).userId(USER_ID)
+                    .failureReason("Insufficient asset").build(),
+            "TransactionCreatedEvent", () -> TransactionCreatedEvent.builder()
+                    .transactionId(TRANSACTION_ID).sagaId(SAGA_ID).userId(USER_ID).cryptoId("bitcoin")
+                    .transactionType(TransactionType.BUY).quantity(Quantity.parse("0.12345678"))
+                    .totalSpent(Money.parse("7407.41")).pricePerCoin(Price.parse("60000.00000000")).build(),
+            "TransactionCompletedEvent", () -> TransactionCompletedEvent.builder()
+                    .sagaId(SAGA_ID).transactionId(TRANSACTION_ID).userId(USER_ID).build(),
+            "TransactionFailedEvent", () -> TransactionFailedEvent.builder()
+                    .sagaId(SAGA_ID).transactionId(TRANSACTION_ID).userId(USER_ID)
+                    .failureReason("Insufficient balance").build()
+    );
+
+    @Param({"BalanceUpdateEvent", "BalanceUpdatedEvent", "BalanceUpdateFailedEvent",
+            "AssetUpdateEvent", "AssetUpdatedEvent", "AssetUpdateFailedEvent",
+            "TransactionCreatedEvent", "TransactionCompletedEvent", "TransactionFailedEvent"})
+    public String eventType;
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    private Object event;
+
+    @Setup
+    public void setUp() {
+        event = EVENTS.get(eventType).get();
+    }
+
+    @Benchmark
+    public Message toMessage() {
+        return converter.toMessage(event, new MessageProperties());
+    }
+}
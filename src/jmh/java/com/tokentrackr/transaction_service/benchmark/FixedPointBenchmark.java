@@ -0,0 +1,102 @@
+package com.tokentrackr.transaction_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal against scaled-long amounts on the saga hot path: decoding an amount from JSON and
+ * accumulating and comparing amounts, both through the typed records and on their raw units.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class FixedPointBenchmark {
+
+    public record BigDecimalAmount(BigDecimal amount) {
+    }
+
+    public record MoneyAmount(Money amount) {
+    }
+
+    private static final int AMOUNTS = 64;
+
+    private final byte[] json = "{\"amount\":7407.41}".getBytes(StandardCharsets.UTF_8);
+    private final BigDecimal[] bigDecimals = new BigDecimal[AMOUNTS];
+    private final Money[] monies = new Money[AMOUNTS];
+
+    private ObjectReader bigDecimalReader;
+    private ObjectReader moneyReader;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        bigDecimalReader = objectMapper.readerFor(BigDecimalAmount.class);
+        moneyReader = objectMapper.readerFor(MoneyAmount.class);
+        for (int i = 0; i < AMOUNTS; i++) {
+            String amount = (i * 1_234 + 7) + "." + String.format("%02d", i);
+            bigDecimals[i] = new BigDecimal(amount);
+            monies[i] = Money.parse(amount);
+        }
+    }
+
+    @Benchmark
+    public BigDecimalAmount decodeBigDecimal() throws IOException {
+        return bigDecimalReader.readValue(json);
+    }
+
+    @Benchmark
+    public MoneyAmount decodeMoney() throws IOException {
+        return moneyReader.readValue(json);
+    }
+
+    @Benchmark
+    public int sumAndCompareBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        int above = 0;
+        for (BigDecimal amount : bigDecimals) {
+            total = total.add(amount);
+            if (amount.compareTo(bigDecimals[0]) > 0) {
+                above++;
+            }
+        }
+        return above + total.signum();
+    }
+
+    @Benchmark
+    public int sumAndCompareMoney() {
+        Money total = Money.ZERO;
+        int above = 0;
+        for (Money amount : monies) {
+            total = total.plus(amount);
+            if (amount.compareTo(monies[0]) > 0) {
+                above++;
+            }
+        }
+        return above + total.signum();
+    }
+
+    // The loop-carried total is not scalar-replaced, so each plus() above allocates; raw units do not
+    @Benchmark
+    public int sumAndCompareUnscaled() {
+        long total = 0;
+        long first = monies[0].unscaled();
+        int above = 0;
+        for (Money amount : monies) {
+            total = Math.addExact(total, amount.unscaled());
+            if (amount.unscaled() > first) {
+                above++;
+            }
+        }
+        return above + Long.signum(total);
+    }
+}
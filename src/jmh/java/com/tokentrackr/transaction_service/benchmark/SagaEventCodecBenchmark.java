@@ -0,0 +1,70 @@
+package com.tokentrackr.transaction_service.benchmark;
+
+import com.tokentrackr.transaction_service.dto.events.AssetUpdateEvent;
+import com.tokentrackr.transaction_service.dto.events.BalanceUpdateEvent;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+import com.tokentrackr.transaction_service.service.messaging.codec.SagaEventMessageConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON versus binary encoding of the saga commands, through the converter the RabbitTemplate uses.
+ * Payload sizes are printed once per fork during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SagaEventCodecBenchmark {
+
+    @Param({"json", "binary"})
+    public String codec;
+
+    @Param({"BalanceUpdateEvent", "AssetUpdateEvent"})
+    public String eventType;
+
+    private SagaEventMessageConverter converter;
+    private Object event;
+    private Message message;
+
+    @Setup
+    public void setUp() {
+        converter = new SagaEventMessageConverter(new Jackson2JsonMessageConverter(), "binary".equals(codec));
+        String sagaId = UUID.randomUUID().toString();
+        UUID transactionId = UUID.randomUUID();
+        event = switch (eventType) {
+            case "BalanceUpdateEvent" -> BalanceUpdateEvent.builder()
+                    .sagaId(sagaId).transactionId(transactionId).userId("3f1c2a7e-5b8d-4c6a-9e2f-1a2b3c4d5e6f")
+                    .amount(Money.parse("7407.41")).isCompensation(false)
+                    .transactionType(TransactionType.BUY).build();
+            case "AssetUpdateEvent" -> AssetUpdateEvent.builder()
+                    .sagaId(sagaId).transactionId(transactionId).userId("3f1c2a7e-5b8d-4c6a-9e2f-1a2b3c4d5e6f")
+                    .cryptoId("bitcoin").quantity(Quantity.parse("0.12345678")).isCompensation(false)
+                    .transactionType(TransactionType.BUY).build();
+            default -> throw new IllegalArgumentException(eventType);
+        };
+
+        message = converter.toMessage(event, new MessageProperties());
+        System.out.printf("%s %s payload: %d bytes%n", codec, eventType, message.getBody().length);
+    }
+
+    @Benchmark
+    public Message serialize() {
+        return converter.toMessage(event, new MessageProperties());
+    }
+
+    // The JSON converter resolves the target class from the type id header it wrote
+    @Benchmark
+    public Object deserialize() {
+        return converter.fromMessage(message);
+    }
+}
@@ -0,0 +1,108 @@
+package com.tokentrackr.transaction_service.benchmark;
+
+import com.tokentrackr.transaction_service.dto.events.AssetUpdateFailedEvent;
+import com.tokentrackr.transaction_service.dto.events.AssetUpdatedEvent;
+import com.tokentrackr.transaction_service.dto.events.BalanceUpdatedEvent;
+import com.tokentrackr.transaction_service.entity.Transaction;
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Price;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+import com.tokentrackr.transaction_service.repository.TransactionRepository;
+import com.tokentrackr.transaction_service.repository.TransactionViewRepository;
+import com.tokentrackr.transaction_service.saga.InMemorySagaStateStore;
+import com.tokentrackr.transaction_service.saga.SagaInbox;
+import com.tokentrackr.transaction_service.saga.SagaMetrics;
+import com.tokentrackr.transaction_service.saga.SagaTimeoutScheduler;
+import com.tokentrackr.transaction_service.saga.TransactionSagaOrchestratorImpl;
+import com.tokentrackr.transaction_service.service.interfaces.HoldingService;
+import com.tokentrackr.transaction_service.service.messaging.CommandOutbox;
+import com.tokentrackr.transaction_service.service.messaging.EventPublisher;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * Full saga state transitions with every collaborator except the state store mocked.
+ * Mocks are stub-only so they do not record invocations and skew allocation numbers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class SagaOrchestratorBenchmark {
+
+    private TransactionSagaOrchestratorImpl orchestrator;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        SagaInbox sagaInbox = stub(SagaInbox.class);
+        Mockito.when(sagaInbox.filterUnprocessed(any(), any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        orchestrator = new TransactionSagaOrchestratorImpl(
+                stub(EventPublisher.class),
+                stub(CommandOutbox.class),
+                stub(TransactionRepository.class),
+                stub(TransactionViewRepository.class),
+                new InMemorySagaStateStore(),
+                stub(HoldingService.class),
+                stub(ApplicationEventPublisher.class),
+                stub(SagaTimeoutScheduler.class),
+                sagaInbox,
+                stub(SagaMetrics.class));
+    }
+
+    @Benchmark
+    public void buyCompleted() {
+        Transaction transaction = newTransaction(TransactionType.BUY);
+        String sagaId = transaction.getSagaId();
+
+        orchestrator.startTransactionSaga(transaction);
+        orchestrator.handleBalanceUpdated(BalanceUpdatedEvent.builder()
+                .sagaId(sagaId).transactionId(transaction.getId()).userId(transaction.getUserId()).success(true).build());
+        orchestrator.handleAssetUpdated(AssetUpdatedEvent.builder()
+                .sagaId(sagaId).transactionId(transaction.getId()).userId(transaction.getUserId()).success(true).build());
+    }
+
+    @Benchmark
+    public void buyCompensated() {
+        Transaction transaction = newTransaction(TransactionType.BUY);
+        String sagaId = transaction.getSagaId();
+
+        orchestrator.startTransactionSaga(transaction);
+        orchestrator.handleBalanceUpdated(BalanceUpdatedEvent.builder()
+                .sagaId(sagaId).transactionId(transaction.getId()).userId(transaction.getUserId()).success(true).build());
+        orchestrator.handleAssetUpdateFailed(AssetUpdateFailedEvent.builder()
+                .sagaId(sagaId).transactionId(transaction.getId()).userId(transaction.getUserId())
+                .failureReason("Insufficient asset").build());
+    }
+
+    private Transaction newTransaction(TransactionType type) {
+        return Transaction.builder()
+                .id(UUID.randomUUID())
+                .cryptoId("bitcoin")
+                .userId("user-" + (sequence & 1023))
+                .transactionType(type)
+                .quantity(Quantity.parse("0.12345678"))
+                .totalSpent(Money.parse("7407.41"))
+                .pricePerCoin(Price.parse("60000.00000000"))
+                .status(TransactionStatus.PENDING)
+                .sagaId("saga-" + sequence++)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,49 @@
+package com.tokentrackr.transaction_service.benchmark;
+
+import com.tokentrackr.transaction_service.dto.response.TransactionResponse;
+import com.tokentrackr.transaction_service.entity.Transaction;
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Price;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+import com.tokentrackr.transaction_service.mapper.TransactionMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class TransactionMapperBenchmark {
+
+    private final TransactionMapper mapper = new TransactionMapper();
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        transaction = Transaction.builder()
+                .id(UUID.randomUUID())
+                .cryptoId("bitcoin")
+                .userId("user-1")
+                .transactionType(TransactionType.BUY)
+                .quantity(Quantity.parse("0.12345678"))
+                .totalSpent(Money.parse("7407.41"))
+                .pricePerCoin(Price.parse("60000.00000000"))
+                .status(TransactionStatus.PENDING)
+                .sagaId(UUID.randomUUID().toString())
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public TransactionResponse toResponse() {
+        return mapper.toResponse(transaction);
+    }
+}
@@ -0,0 +1,83 @@
+package com.tokentrackr.transaction_service.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tokentrackr.transaction_service.dto.response.TransactionResponse;
+import com.tokentrackr.transaction_service.enums.SagaEventType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Configuration
+public class CacheConfig {
+
+    public static final String TRANSACTION_BY_ID_CACHE = "transactions.by-id";
+    public static final String IDEMPOTENCY_CACHE = "idempotency.keys";
+    public static final String SAGA_INBOX_CACHE = "saga.inbox";
+
+    /**
+     * Cache key for a single transaction. The owner is part of the key so a hit
+     * can never leak another user's transaction.
+     */
+    public record TransactionKey(UUID id, String userId) {
+    }
+
+    public record IdempotencyCacheKey(String userId, String idempotencyKey) {
+    }
+
+    public record SagaInboxKey(String sagaId, SagaEventType eventType) {
+    }
+
+    @Value("${transactions.cache.by-id.max-size:10000}")
+    private long transactionByIdMaxSize;
+
+    @Value("${transactions.cache.by-id.ttl-ms:30000}")
+    private long transactionByIdTtlMs;
+
+    @Value("${idempotency.cache.max-size:100000}")
+    private long idempotencyMaxSize;
+
+    @Value("${idempotency.cache.ttl-ms:600000}")
+    private long idempotencyTtlMs;
+
+    @Value("${saga.inbox.cache.max-size:200000}")
+    private long sagaInboxMaxSize;
+
+    @Value("${saga.inbox.cache.ttl-ms:3600000}")
+    private long sagaInboxTtlMs;
+
+    @Bean
+    public Cache<TransactionKey, TransactionResponse> transactionByIdCache(MeterRegistry meterRegistry) {
+        Cache<TransactionKey, TransactionResponse> cache = Caffeine.newBuilder()
+                .maximumSize(transactionByIdMaxSize)
+                .expireAfterWrite(Duration.ofMillis(transactionByIdTtlMs))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, TRANSACTION_BY_ID_CACHE);
+    }
+
+    @Bean
+    public Cache<IdempotencyCacheKey, TransactionResponse> idempotencyCache(MeterRegistry meterRegistry) {
+        Cache<IdempotencyCacheKey, TransactionResponse> cache = Caffeine.newBuilder()
+                .maximumSize(idempotencyMaxSize)
+                .expireAfterWrite(Duration.ofMillis(idempotencyTtlMs))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, IDEMPOTENCY_CACHE);
+    }
+
+    @Bean
+    public Cache<SagaInboxKey, Boolean> sagaInboxCache(MeterRegistry meterRegistry) {
+        Cache<SagaInboxKey, Boolean> cache = Caffeine.newBuilder()
+                .maximumSize(sagaInboxMaxSize)
+                .expireAfterWrite(Duration.ofMillis(sagaInboxTtlMs))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, SAGA_INBOX_CACHE);
+    }
+}
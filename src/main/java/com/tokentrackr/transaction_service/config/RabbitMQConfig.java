@@ -1,9 +1,14 @@
 package com.tokentrackr.transaction_service.config;
 
+import com.tokentrackr.transaction_service.service.messaging.codec.SagaEventMessageConverter;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -25,6 +30,10 @@ public class RabbitMQConfig {
     public static final String ASSET_UPDATED_QUEUE              = "asset.updated.queue";
     public static final String ASSET_UPDATE_FAILED_QUEUE        = "asset.update.failed.queue";
 
+    // Saga responses that failed on their own and would otherwise be redelivered forever
+    public static final String SAGA_DEAD_LETTER_QUEUE           = "saga.dead.letter.queue";
+    public static final String SAGA_DEAD_LETTER_ROUTING_KEY     = "saga.dead.letter";
+
     @Bean
     public DirectExchange sagaDirectExchange() {
         return new DirectExchange(SAGA_DIRECT_EXCHANGE);
@@ -37,6 +46,7 @@ public class RabbitMQConfig {
     @Bean Queue balanceUpdateFailedQueue()      { return QueueBuilder.durable(BALANCE_UPDATE_FAILED_QUEUE).build(); }
     @Bean Queue assetUpdatedQueue()             { return QueueBuilder.durable(ASSET_UPDATED_QUEUE).build(); }
     @Bean Queue assetUpdateFailedQueue()        { return QueueBuilder.durable(ASSET_UPDATE_FAILED_QUEUE).build(); }
+    @Bean Queue sagaDeadLetterQueue()           { return QueueBuilder.durable(SAGA_DEAD_LETTER_QUEUE).build(); }
 
     // Bind commands
     @Bean Binding bindBalanceUpdate() {
@@ -71,6 +81,11 @@ public class RabbitMQConfig {
                 .to(sagaDirectExchange())
                 .with("asset.update.failed");
     }
+    @Bean Binding bindSagaDeadLetter() {
+        return BindingBuilder.bind(sagaDeadLetterQueue())
+                .to(sagaDirectExchange())
+                .with(SAGA_DEAD_LETTER_ROUTING_KEY);
+    }
 
     // ========================
     // 2. TOPIC EXCHANGE (Final Outcome Events)
@@ -82,15 +97,39 @@ public class RabbitMQConfig {
         return new TopicExchange(SAGA_TOPIC_EXCHANGE);
     }
 
+    // JSON by default; messaging.codec.binary-outbound=true switches saga events to the binary codec.
+    // Both formats are always accepted on the way in.
     @Bean
-    public Jackson2JsonMessageConverter messageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public MessageConverter messageConverter(@Value("${messaging.codec.binary-outbound:false}") boolean binaryOutbound) {
+        return new SagaEventMessageConverter(new Jackson2JsonMessageConverter(), binaryOutbound);
     }
 
     @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, MessageConverter messageConverter) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(messageConverter());
+        template.setMessageConverter(messageConverter);
         return template;
     }
-}
\ No newline at end of file
+
+    // ========================
+    // 3. BATCH LISTENER (Saga Responses)
+    // ========================
+    public static final String BATCH_LISTENER_CONTAINER_FACTORY = "batchListenerContainerFactory";
+
+    // Delivers up to batch-size messages, or whatever arrived within receive-timeout-ms, as one List
+    @Bean(BATCH_LISTENER_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${messaging.listener.batch.size:100}") int batchSize,
+            @Value("${messaging.listener.batch.receive-timeout-ms:50}") long receiveTimeoutMs) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setPrefetchCount(Math.max(batchSize, 250));
+        return factory;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tokentrackr.transaction_service.config;
+
+import com.rabbitmq.stream.Environment;
+import com.rabbitmq.stream.compression.Compression;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.rabbit.stream.config.SuperStream;
+import org.springframework.rabbit.stream.config.SuperStreamBuilder;
+import org.springframework.rabbit.stream.producer.RabbitStreamTemplate;
+
+/**
+ * Super stream for saga outcome events, enabled with {@code messaging.outcome-stream.enabled=true}.
+ * <p>
+ * Events are routed to a partition by hashing the userId, so each user's outcomes stay ordered while
+ * consumers scale out per partition and can replay from any offset. Producers batch messages into
+ * compressed sub-entries.
+ */
+@Configuration
+@ConditionalOnProperty(name = "messaging.outcome-stream.enabled", havingValue = "true")
+public class RabbitStreamConfig {
+
+    public static final String OUTCOME_SUPER_STREAM = "transaction.outcomes";
+    public static final String USER_ID_HEADER = "userId";
+
+    @Bean
+    public SuperStream outcomeSuperStream(
+            @Value("${messaging.outcome-stream.partitions:3}") int partitions,
+            @Value("${messaging.outcome-stream.max-age:7D}") String maxAge) {
+        return SuperStreamBuilder.superStream(OUTCOME_SUPER_STREAM)
+                .partitions(partitions)
+                .maxAge(maxAge)
+                .build();
+    }
+
+    @Bean
+    public RabbitStreamTemplate outcomeStreamTemplate(
+            Environment environment,
+            MessageConverter messageConverter,
+            @Value("${messaging.outcome-stream.sub-entry-size:100}") int subEntrySize,
+            @Value("${messaging.outcome-stream.batch-size:500}") int batchSize,
+            @Value("${messaging.outcome-stream.compression:GZIP}") Compression compression) {
+        RabbitStreamTemplate template = new RabbitStreamTemplate(environment, OUTCOME_SUPER_STREAM);
+        template.setMessageConverter(messageConverter);
+        template.setSuperStreamRouting(message -> String.valueOf(message.getApplicationProperties().get(USER_ID_HEADER)));
+        template.setProducerCustomizer((name, builder) -> builder
+                .subEntrySize(subEntrySize)
+                .compression(compression)
+                .batchSize(batchSize));
+        return template;
+    }
+}
@@ -1,19 +1,36 @@
 package com.tokentrackr.transaction_service.controller;
 
+import com.tokentrackr.transaction_service.dto.request.BatchCreateTransactionRequest;
 import com.tokentrackr.transaction_service.dto.request.CreateTransactionRequest;
+import com.tokentrackr.transaction_service.dto.response.BatchTransactionResponse;
+import com.tokentrackr.transaction_service.dto.response.HoldingResponse;
 import com.tokentrackr.transaction_service.dto.response.TransactionResponse;
+import com.tokentrackr.transaction_service.dto.response.TransactionSliceResponse;
+import com.tokentrackr.transaction_service.enums.ExportFormat;
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+import com.tokentrackr.transaction_service.service.interfaces.AdmissionService;
+import com.tokentrackr.transaction_service.service.interfaces.HoldingService;
 import com.tokentrackr.transaction_service.service.interfaces.TransactionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/transactions")
@@ -21,15 +38,59 @@ import java.util.UUID;
 @Slf4j
 public class TransactionController {
 
+    private static final int MAX_SLICE_SIZE = 100;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final String PREFER_HEADER = "Prefer";
+    private static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final long MAX_WAIT_SECONDS = 60;
+
     private final TransactionService transactionService;
+    private final HoldingService holdingService;
+    private final AdmissionService admissionService;
 
     @PostMapping
-    public ResponseEntity<TransactionResponse> createTransaction(@Valid @RequestBody CreateTransactionRequest request) {
+    public ResponseEntity<TransactionResponse> createTransaction(
+            @Valid @RequestBody CreateTransactionRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = PREFER_HEADER, required = false) String prefer) {
         log.info("Creating transaction for crypto: {}", request.getCryptoId());
-        TransactionResponse response = transactionService.createTransaction(request);
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        // A replay starts no saga, so it is answered before admission control charges the user for one
+        Optional<TransactionResponse> replay = idempotencyKey == null
+                ? Optional.empty()
+                : transactionService.findReplay(idempotencyKey);
+        TransactionResponse response = replay.orElseGet(() -> {
+            // Before any database work, so rejections stay cheap under load
+            admissionService.admit(1);
+            return transactionService.createTransaction(request, idempotencyKey);
+        });
+
+        // Prefer: respond-async answers 202 with a status URL that long-polls for the saga outcome
+        if (prefersAsync(prefer) && response.getStatus() == TransactionStatus.PENDING) {
+            URI statusUri = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                    .path("/{id}/status")
+                    .buildAndExpand(response.getId())
+                    .toUri();
+            return ResponseEntity.accepted()
+                    .location(statusUri)
+                    .header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+                    .body(response);
+        }
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransactionResponse> createTransactions(@Valid @RequestBody BatchCreateTransactionRequest request) {
+        log.info("Creating batch of {} transactions", request.getTransactions().size());
+        admissionService.admit(request.getTransactions().size());
+        BatchTransactionResponse response = transactionService.createTransactions(request.getTransactions());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     public ResponseEntity<Page<TransactionResponse>> getUserTransactions(Pageable pageable) {
         log.info("Fetching user transactions with pagination");
@@ -37,6 +98,41 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<TransactionSliceResponse> getUserTransactionsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching user transactions with cursor pagination");
+        int sliceSize = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+        TransactionSliceResponse transactions = transactionService.getUserTransactionsByCursor(cursor, sliceSize);
+        return ResponseEntity.ok(transactions);
+    }
+
+    @GetMapping("/holdings")
+    public ResponseEntity<List<HoldingResponse>> getUserHoldings() {
+        log.info("Fetching user holdings");
+        List<HoldingResponse> holdings = holdingService.getUserHoldings();
+        return ResponseEntity.ok(holdings);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUserTransactions(@RequestParam(defaultValue = "ndjson") String format) {
+        log.info("Exporting user transactions as {}", format);
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = transactionService.exportUserTransactions(exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + exportFormat.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatusChanges() {
+        log.info("Opening transaction status stream");
+        return transactionService.streamStatusChanges();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TransactionResponse> getTransactionById(@PathVariable UUID id) {
         log.info("Fetching transaction by id: {}", id);
@@ -44,6 +140,14 @@ public class TransactionController {
         return ResponseEntity.ok(transaction);
     }
 
+    @GetMapping("/{id}/status")
+    public DeferredResult<TransactionResponse> awaitTransaction(@PathVariable UUID id,
+                                                                @RequestParam(defaultValue = "30") long wait) {
+        log.info("Awaiting transaction: {} for up to {} s", id, wait);
+        long waitSeconds = Math.max(1, Math.min(wait, MAX_WAIT_SECONDS));
+        return transactionService.awaitTransaction(id, TimeUnit.SECONDS.toMillis(waitSeconds));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTransaction(@PathVariable UUID id) {
         log.info("Deleting transaction: {}", id);
@@ -57,4 +161,16 @@ public class TransactionController {
         List<TransactionResponse> transactions = transactionService.getUserTransactionsByCrypto(cryptoId);
         return ResponseEntity.ok(transactions);
     }
+
+    private boolean prefersAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split(",")) {
+            if (preference.trim().equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -1,19 +1,21 @@
 package com.tokentrackr.transaction_service.dto.events;
 import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
 @Builder
+@Jacksonized
 public class AssetUpdateEvent {
     private String sagaId;
     private UUID transactionId;
     private String userId;
     private String cryptoId;
-    private BigDecimal quantity;
+    private Quantity quantity;
     private Boolean isCompensation;
     private TransactionType transactionType;
 }
\ No newline at end of file
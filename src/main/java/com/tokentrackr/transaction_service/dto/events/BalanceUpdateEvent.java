@@ -1,18 +1,20 @@
 package com.tokentrackr.transaction_service.dto.events;
 import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
 @Builder
+@Jacksonized
 public class BalanceUpdateEvent {
     private String sagaId;
     private UUID transactionId;
     private String userId;
-    private BigDecimal amount;
+    private Money amount;
     private Boolean isCompensation;
     private TransactionType transactionType;
 }
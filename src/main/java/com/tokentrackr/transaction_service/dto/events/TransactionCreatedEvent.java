@@ -1,9 +1,11 @@
 package com.tokentrackr.transaction_service.dto.events;
 import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Price;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
 import lombok.Builder;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
@@ -14,7 +16,7 @@ public class TransactionCreatedEvent {
     private String userId;
     private String cryptoId;
     private TransactionType transactionType;
-    private BigDecimal quantity;
-    private BigDecimal totalSpent;
-    private BigDecimal pricePerCoin;
+    private Quantity quantity;
+    private Money totalSpent;
+    private Price pricePerCoin;
 }
@@ -0,0 +1,20 @@
+package com.tokentrackr.transaction_service.dto.events;
+
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * In-process application event raised when a saga moves a transaction to a
+ * terminal status. Listeners react after the status update has committed.
+ */
+@Data
+@Builder
+public class TransactionStatusChangedEvent {
+    private UUID transactionId;
+    private String userId;
+    private TransactionStatus status;
+    private String failureReason;
+}
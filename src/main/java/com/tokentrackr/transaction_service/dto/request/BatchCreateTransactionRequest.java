@@ -0,0 +1,17 @@
+package com.tokentrackr.transaction_service.dto.request;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BatchCreateTransactionRequest {
+
+    // Items are validated one by one so a single bad order doesn't reject the whole batch
+    @NotEmpty(message = "At least one transaction is required")
+    @Size(max = 500, message = "A batch may contain at most 500 transactions")
+    private List<CreateTransactionRequest> transactions;
+}
@@ -1,6 +1,7 @@
 package com.tokentrackr.transaction_service.dto.request;
 import com.tokentrackr.transaction_service.enums.TransactionType;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
@@ -20,13 +21,16 @@ public class CreateTransactionRequest {
 
     @NotNull(message = "Quantity is required")
     @DecimalMin(value = "0.00000001", message = "Quantity must be greater than 0")
+    @Digits(integer = 10, fraction = 8, message = "Quantity allows at most 10 integer and 8 fraction digits")
     private BigDecimal quantity;
 
     @NotNull(message = "Total spent is required")
     @DecimalMin(value = "0.01", message = "Total spent must be greater than 0")
+    @Digits(integer = 16, fraction = 2, message = "Total spent allows at most 16 integer and 2 fraction digits")
     private BigDecimal totalSpent;
 
     @NotNull(message = "Price per coin is required")
     @DecimalMin(value = "0.00000001", message = "Price per coin must be greater than 0")
+    @Digits(integer = 10, fraction = 8, message = "Price per coin allows at most 10 integer and 8 fraction digits")
     private BigDecimal pricePerCoin;
 }
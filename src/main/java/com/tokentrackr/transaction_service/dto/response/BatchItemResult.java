@@ -0,0 +1,16 @@
+package com.tokentrackr.transaction_service.dto.response;
+
+import com.tokentrackr.transaction_service.enums.BatchItemStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class BatchItemResult {
+    private int index;
+    private BatchItemStatus status;
+    private TransactionResponse transaction;
+    private Map<String, String> validationErrors;
+}
@@ -0,0 +1,14 @@
+package com.tokentrackr.transaction_service.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BatchTransactionResponse {
+    private int created;
+    private int rejected;
+    private List<BatchItemResult> results;
+}
@@ -0,0 +1,18 @@
+package com.tokentrackr.transaction_service.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class HoldingResponse {
+    private String cryptoId;
+    private BigDecimal quantity;
+    private BigDecimal totalCost;
+    private BigDecimal averagePrice;
+    private BigDecimal realizedPnl;
+    private LocalDateTime updatedAt;
+}
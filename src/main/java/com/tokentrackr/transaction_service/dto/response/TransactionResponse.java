@@ -2,23 +2,25 @@ package com.tokentrackr.transaction_service.dto.response;
 
 import com.tokentrackr.transaction_service.enums.TransactionStatus;
 import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Price;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
 import lombok.Builder;
 import lombok.Data;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class TransactionResponse {
     private UUID id;
     private String cryptoId;
     private String userId;
     private TransactionType transactionType;
-    private BigDecimal quantity;
-    private BigDecimal totalSpent;
-    private BigDecimal pricePerCoin;
+    private Quantity quantity;
+    private Money totalSpent;
+    private Price pricePerCoin;
     private TransactionStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
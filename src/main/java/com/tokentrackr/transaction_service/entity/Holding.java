@@ -0,0 +1,44 @@
+package com.tokentrackr.transaction_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user, per-coin position maintained incrementally as transactions complete.
+ * Cost basis uses the average cost method.
+ */
+@Entity
+@Table(name = "holdings")
+@IdClass(HoldingId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Holding {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Id
+    @Column(name = "crypto_id", nullable = false)
+    private String cryptoId;
+
+    @Column(name = "quantity", nullable = false, precision = 28, scale = 8)
+    private BigDecimal quantity;
+
+    @Column(name = "total_cost", nullable = false, precision = 28, scale = 8)
+    private BigDecimal totalCost;
+
+    @Column(name = "realized_pnl", nullable = false, precision = 28, scale = 8)
+    private BigDecimal realizedPnl;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,15 @@
+package com.tokentrackr.transaction_service.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldingId implements Serializable {
+    private String userId;
+    private String cryptoId;
+}
@@ -2,6 +2,9 @@ package com.tokentrackr.transaction_service.entity;
 
 import com.tokentrackr.transaction_service.enums.TransactionStatus;
 import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Price;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,8 +14,8 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
@@ -39,13 +42,13 @@ public class Transaction {
     private TransactionType transactionType;
 
     @Column(name = "quantity", nullable = false, precision = 18, scale = 8)
-    private BigDecimal quantity;
+    private Quantity quantity;
 
     @Column(name = "total_spent", nullable = false, precision = 18, scale = 2)
-    private BigDecimal totalSpent;
+    private Money totalSpent;
 
     @Column(name = "price_per_coin", nullable = false, precision = 18, scale = 8)
-    private BigDecimal pricePerCoin;
+    private Price pricePerCoin;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
@@ -66,9 +69,10 @@ public class Transaction {
     @Column(name = "failure_reason")
     private String failureReason;
 
+    // Truncated to the database's precision: created_at is part of the primary key and is matched exactly
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        updatedAt = createdAt;
     }
 }
@@ -0,0 +1,68 @@
+package com.tokentrackr.transaction_service.entity;
+
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Price;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-side copy of a transaction, keyed by owner first. Written only through
+ * {@link com.tokentrackr.transaction_service.repository.TransactionViewRepositoryCustom}.
+ */
+@Entity
+@Immutable
+@Table(name = "transaction_views")
+@IdClass(TransactionViewId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionView {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private UUID id;
+
+    @Column(name = "crypto_id", nullable = false)
+    private String cryptoId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    @Column(name = "quantity", nullable = false, precision = 18, scale = 8)
+    private Quantity quantity;
+
+    @Column(name = "total_spent", nullable = false, precision = 18, scale = 2)
+    private Money totalSpent;
+
+    @Column(name = "price_per_coin", nullable = false, precision = 18, scale = 8)
+    private Price pricePerCoin;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private TransactionStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "failure_reason")
+    private String failureReason;
+}
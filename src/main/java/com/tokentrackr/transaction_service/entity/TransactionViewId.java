@@ -0,0 +1,16 @@
+package com.tokentrackr.transaction_service.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionViewId implements Serializable {
+    private String userId;
+    private UUID id;
+}
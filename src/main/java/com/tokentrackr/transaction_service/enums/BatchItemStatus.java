@@ -0,0 +1,6 @@
+package com.tokentrackr.transaction_service.enums;
+
+public enum BatchItemStatus {
+    CREATED,
+    REJECTED
+}
@@ -0,0 +1,19 @@
+package com.tokentrackr.transaction_service.enums;
+
+import com.tokentrackr.transaction_service.dto.events.AssetUpdateEvent;
+import com.tokentrackr.transaction_service.dto.events.BalanceUpdateEvent;
+
+public enum OutboxEventType {
+    BALANCE_UPDATE(BalanceUpdateEvent.class),
+    ASSET_UPDATE(AssetUpdateEvent.class);
+
+    private final Class<?> eventClass;
+
+    OutboxEventType(Class<?> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    public Class<?> getEventClass() {
+        return eventClass;
+    }
+}
@@ -0,0 +1,8 @@
+package com.tokentrackr.transaction_service.enums;
+
+public enum SagaEventType {
+    BALANCE_UPDATED,
+    ASSET_UPDATED,
+    BALANCE_UPDATE_FAILED,
+    ASSET_UPDATE_FAILED
+}
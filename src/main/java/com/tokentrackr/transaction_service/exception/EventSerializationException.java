@@ -0,0 +1,7 @@
+package com.tokentrackr.transaction_service.exception;
+
+public class EventSerializationException extends RuntimeException {
+    public EventSerializationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,28 @@
+package com.tokentrackr.transaction_service.fixedpoint;
+
+import java.math.BigDecimal;
+
+/**
+ * An exact decimal stored as a {@code long} count of 10<sup>-scale</sup> units, matching a
+ * {@code NUMERIC(18, scale)} column. Eighteen digits always fit in a long, so arithmetic is plain
+ * {@code long} arithmetic with overflow checks. Conversions never round; see {@link FixedPoints}.
+ */
+public interface FixedPoint<T extends FixedPoint<T>> extends Comparable<T> {
+
+    long unscaled();
+
+    int scale();
+
+    default int signum() {
+        return Long.signum(unscaled());
+    }
+
+    @Override
+    default int compareTo(T other) {
+        return Long.compare(unscaled(), other.unscaled());
+    }
+
+    default BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(unscaled(), scale());
+    }
+}
@@ -0,0 +1,81 @@
+package com.tokentrackr.transaction_service.fixedpoint;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.function.LongFunction;
+
+/**
+ * JSON numbers for {@link FixedPoint} values, so the wire format is the same as for {@code BigDecimal}.
+ * Reading parses the parser's own character buffer into units; strings holding a number are accepted too.
+ */
+public final class FixedPointJson {
+
+    public static class Serializer extends StdSerializer<FixedPoint<?>> {
+
+        public Serializer() {
+            super(FixedPoint.class, false);
+        }
+
+        @Override
+        public void serialize(FixedPoint<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(FixedPoints.format(value.unscaled(), value.scale()));
+        }
+    }
+
+    abstract static class Deserializer<T extends FixedPoint<T>> extends StdScalarDeserializer<T> {
+
+        private final int scale;
+        private final LongFunction<T> factory;
+
+        Deserializer(Class<T> type, int scale, LongFunction<T> factory) {
+            super(type);
+            this.scale = scale;
+            this.factory = factory;
+        }
+
+        @Override
+        public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+                    && token != JsonToken.VALUE_STRING) {
+                @SuppressWarnings("unchecked")
+                T unexpected = (T) ctxt.handleUnexpectedToken(handledType(), p);
+                return unexpected;
+            }
+            try {
+                return factory.apply(FixedPoints.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength(), scale));
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw InvalidFormatException.from(p, e.getMessage(), p.getText(), handledType());
+            }
+        }
+    }
+
+    public static class MoneyDeserializer extends Deserializer<Money> {
+        public MoneyDeserializer() {
+            super(Money.class, Money.SCALE, Money::new);
+        }
+    }
+
+    public static class QuantityDeserializer extends Deserializer<Quantity> {
+        public QuantityDeserializer() {
+            super(Quantity.class, Quantity.SCALE, Quantity::new);
+        }
+    }
+
+    public static class PriceDeserializer extends Deserializer<Price> {
+        public PriceDeserializer() {
+            super(Price.class, Price.SCALE, Price::new);
+        }
+    }
+
+    private FixedPointJson() {
+    }
+}
@@ -0,0 +1,135 @@
+package com.tokentrackr.transaction_service.fixedpoint;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between units of a {@link FixedPoint} and decimals. None of them round: a value with
+ * more fraction digits than the target scale, or too many digits for a long, is rejected with an
+ * {@link ArithmeticException}.
+ */
+public final class FixedPoints {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+            100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L,
+            100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    public static long unscaledOf(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static long rescale(long unscaled, int fromScale, int toScale) {
+        if (fromScale == toScale || unscaled == 0) {
+            return unscaled;
+        }
+        if (fromScale < toScale) {
+            return Math.multiplyExact(unscaled, powerOfTen(toScale - fromScale));
+        }
+        long divisor = powerOfTen(fromScale - toScale);
+        if (unscaled % divisor != 0) {
+            throw new ArithmeticException("Value has more than " + toScale + " fraction digits");
+        }
+        return unscaled / divisor;
+    }
+
+    public static long parse(String text, int scale) {
+        return parse(text.toCharArray(), 0, text.length(), scale);
+    }
+
+    /**
+     * Parses a plain decimal such as {@code -12.5} straight into units, without an intermediate
+     * {@link BigDecimal}. Exponent notation is rare and takes the {@link BigDecimal} route.
+     */
+    public static long parse(char[] chars, int offset, int length, int scale) {
+        int end = offset + length;
+        int dot = -1;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c == 'e' || c == 'E') {
+                return unscaledOf(new BigDecimal(chars, offset, length), scale);
+            }
+            if (c == '.') {
+                if (dot >= 0) {
+                    throw new NumberFormatException("Malformed decimal: " + new String(chars, offset, length));
+                }
+                dot = i;
+            }
+        }
+        // Trailing fraction zeros carry no value and must not count against the scale
+        if (dot >= 0) {
+            while (end > dot + 1 && chars[end - 1] == '0') {
+                end--;
+            }
+        }
+
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (i == dot) {
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Malformed decimal: " + new String(chars, offset, length));
+            }
+            unscaled = Math.addExact(Math.multiplyExact(unscaled, 10), c - '0');
+            digits++;
+            if (dot >= 0 && i > dot) {
+                fractionDigits++;
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Malformed decimal: " + new String(chars, offset, length));
+        }
+
+        long value = rescale(unscaled, fractionDigits, scale);
+        return negative ? -value : value;
+    }
+
+    /**
+     * Plain notation with exactly {@code scale} fraction digits, e.g. {@code 7407.40}.
+     */
+    public static String format(long unscaled, int scale) {
+        if (scale == 0) {
+            return Long.toString(unscaled);
+        }
+        if (unscaled == Long.MIN_VALUE) {
+            return BigDecimal.valueOf(unscaled, scale).toPlainString();
+        }
+
+        long magnitude = Math.abs(unscaled);
+        long divisor = powerOfTen(scale);
+        String fraction = Long.toString(magnitude % divisor);
+
+        StringBuilder builder = new StringBuilder(21 + scale);
+        if (unscaled < 0) {
+            builder.append('-');
+        }
+        builder.append(magnitude / divisor).append('.');
+        for (int i = fraction.length(); i < scale; i++) {
+            builder.append('0');
+        }
+        return builder.append(fraction).toString();
+    }
+
+    private static long powerOfTen(int exponent) {
+        if (exponent < 0 || exponent >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Scale difference out of range: " + exponent);
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+
+    private FixedPoints() {
+    }
+}
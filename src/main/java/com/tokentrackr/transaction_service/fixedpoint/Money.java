@@ -0,0 +1,39 @@
+package com.tokentrackr.transaction_service.fixedpoint;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount of fiat money such as a transaction's total, in units of 10<sup>-2</sup> to match {@code NUMERIC(18, 2)}.
+ */
+@JsonSerialize(using = FixedPointJson.Serializer.class)
+@JsonDeserialize(using = FixedPointJson.MoneyDeserializer.class)
+public record Money(long unscaled) implements FixedPoint<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    public static Money of(BigDecimal value) {
+        return value == null ? null : new Money(FixedPoints.unscaledOf(value, SCALE));
+    }
+
+    public static Money parse(String text) {
+        return new Money(FixedPoints.parse(text, SCALE));
+    }
+
+    @Override
+    public int scale() {
+        return SCALE;
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(unscaled, other.unscaled));
+    }
+
+    @Override
+    public String toString() {
+        return FixedPoints.format(unscaled, SCALE);
+    }
+}
@@ -0,0 +1,34 @@
+package com.tokentrackr.transaction_service.fixedpoint;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+
+/**
+ * A price per coin, in units of 10<sup>-8</sup> to match {@code NUMERIC(18, 8)}.
+ */
+@JsonSerialize(using = FixedPointJson.Serializer.class)
+@JsonDeserialize(using = FixedPointJson.PriceDeserializer.class)
+public record Price(long unscaled) implements FixedPoint<Price> {
+
+    public static final int SCALE = 8;
+
+    public static Price of(BigDecimal value) {
+        return value == null ? null : new Price(FixedPoints.unscaledOf(value, SCALE));
+    }
+
+    public static Price parse(String text) {
+        return new Price(FixedPoints.parse(text, SCALE));
+    }
+
+    @Override
+    public int scale() {
+        return SCALE;
+    }
+
+    @Override
+    public String toString() {
+        return FixedPoints.format(unscaled, SCALE);
+    }
+}
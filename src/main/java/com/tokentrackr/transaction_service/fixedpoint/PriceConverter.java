@@ -0,0 +1,20 @@
+package com.tokentrackr.transaction_service.fixedpoint;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+@Converter(autoApply = true)
+public class PriceConverter implements AttributeConverter<Price, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Price value) {
+        return value == null ? null : value.toBigDecimal();
+    }
+
+    @Override
+    public Price convertToEntityAttribute(BigDecimal value) {
+        return Price.of(value);
+    }
+}
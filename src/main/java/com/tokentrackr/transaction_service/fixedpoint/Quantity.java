@@ -0,0 +1,34 @@
+package com.tokentrackr.transaction_service.fixedpoint;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+
+/**
+ * An amount of a crypto asset, in units of 10<sup>-8</sup> to match {@code NUMERIC(18, 8)}.
+ */
+@JsonSerialize(using = FixedPointJson.Serializer.class)
+@JsonDeserialize(using = FixedPointJson.QuantityDeserializer.class)
+public record Quantity(long unscaled) implements FixedPoint<Quantity> {
+
+    public static final int SCALE = 8;
+
+    public static Quantity of(BigDecimal value) {
+        return value == null ? null : new Quantity(FixedPoints.unscaledOf(value, SCALE));
+    }
+
+    public static Quantity parse(String text) {
+        return new Quantity(FixedPoints.parse(text, SCALE));
+    }
+
+    @Override
+    public int scale() {
+        return SCALE;
+    }
+
+    @Override
+    public String toString() {
+        return FixedPoints.format(unscaled, SCALE);
+    }
+}
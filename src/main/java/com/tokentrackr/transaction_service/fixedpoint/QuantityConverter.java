@@ -0,0 +1,20 @@
+package com.tokentrackr.transaction_service.fixedpoint;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+@Converter(autoApply = true)
+public class QuantityConverter implements AttributeConverter<Quantity, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Quantity value) {
+        return value == null ? null : value.toBigDecimal();
+    }
+
+    @Override
+    public Quantity convertToEntityAttribute(BigDecimal value) {
+        return Quantity.of(value);
+    }
+}
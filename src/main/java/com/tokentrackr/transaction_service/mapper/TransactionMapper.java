@@ -2,6 +2,7 @@ package com.tokentrackr.transaction_service.mapper;
 
 import com.tokentrackr.transaction_service.dto.response.TransactionResponse;
 import com.tokentrackr.transaction_service.entity.Transaction;
+import com.tokentrackr.transaction_service.entity.TransactionView;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -22,4 +23,20 @@ public class TransactionMapper {
                 .failureReason(transaction.getFailureReason())
                 .build();
     }
+
+    public TransactionResponse toResponse(TransactionView view) {
+        return TransactionResponse.builder()
+                .id(view.getId())
+                .cryptoId(view.getCryptoId())
+                .userId(view.getUserId())
+                .transactionType(view.getTransactionType())
+                .quantity(view.getQuantity())
+                .totalSpent(view.getTotalSpent())
+                .pricePerCoin(view.getPricePerCoin())
+                .status(view.getStatus())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .failureReason(view.getFailureReason())
+                .build();
+    }
 }
@@ -0,0 +1,49 @@
+package com.tokentrackr.transaction_service.repository;
+import com.tokentrackr.transaction_service.entity.Holding;
+import com.tokentrackr.transaction_service.entity.HoldingId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface HoldingRepository extends JpaRepository<Holding, HoldingId> {
+
+    List<Holding> findByUserIdOrderByCryptoId(String userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO holdings AS h (user_id, crypto_id, quantity, total_cost, realized_pnl, updated_at) " +
+            "VALUES (:userId, :cryptoId, :quantity, :cost, 0, NOW()) " +
+            "ON CONFLICT (user_id, crypto_id) DO UPDATE SET " +
+            "quantity = h.quantity + EXCLUDED.quantity, " +
+            "total_cost = h.total_cost + EXCLUDED.total_cost, " +
+            "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    void applyBuy(@Param("userId") String userId,
+                  @Param("cryptoId") String cryptoId,
+                  @Param("quantity") BigDecimal quantity,
+                  @Param("cost") BigDecimal cost);
+
+    // Removes the average cost of the sold coins from the basis and books the difference to the proceeds as realized P&L
+    @Modifying
+    @Query(value = "INSERT INTO holdings AS h (user_id, crypto_id, quantity, total_cost, realized_pnl, updated_at) " +
+            "VALUES (:userId, :cryptoId, -1 * :quantity, 0, :proceeds, NOW()) " +
+            "ON CONFLICT (user_id, crypto_id) DO UPDATE SET " +
+            "realized_pnl = h.realized_pnl + EXCLUDED.realized_pnl - " +
+            "    CASE WHEN h.quantity > 0 THEN h.total_cost * LEAST(:quantity, h.quantity) / h.quantity ELSE 0 END, " +
+            "total_cost = h.total_cost - " +
+            "    CASE WHEN h.quantity > 0 THEN h.total_cost * LEAST(:quantity, h.quantity) / h.quantity ELSE 0 END, " +
+            "quantity = h.quantity - :quantity, " +
+            "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    void applySell(@Param("userId") String userId,
+                   @Param("cryptoId") String cryptoId,
+                   @Param("quantity") BigDecimal quantity,
+                   @Param("proceeds") BigDecimal proceeds);
+
+    // Replays the holding's completed transactions from scratch; returns how many were replayed
+    @Query(value = "SELECT recompute_holding(:userId, :cryptoId)", nativeQuery = true)
+    int recompute(@Param("userId") String userId, @Param("cryptoId") String cryptoId);
+}
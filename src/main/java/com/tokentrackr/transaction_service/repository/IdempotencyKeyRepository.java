@@ -0,0 +1,35 @@
+package com.tokentrackr.transaction_service.repository;
+
+import com.tokentrackr.transaction_service.entity.IdempotencyKey;
+import com.tokentrackr.transaction_service.entity.IdempotencyKeyId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, IdempotencyKeyId> {
+
+    // Returns 0 when the key already exists. A concurrent claim that has not committed yet
+    // blocks this insert until it commits or rolls back.
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (user_id, idempotency_key, created_at) " +
+            "VALUES (:userId, :idempotencyKey, NOW()) " +
+            "ON CONFLICT (user_id, idempotency_key) DO NOTHING", nativeQuery = true)
+    int claim(@Param("userId") String userId, @Param("idempotencyKey") String idempotencyKey);
+
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET transaction_id = :transactionId " +
+            "WHERE user_id = :userId AND idempotency_key = :idempotencyKey", nativeQuery = true)
+    void assignTransaction(@Param("userId") String userId,
+                           @Param("idempotencyKey") String idempotencyKey,
+                           @Param("transactionId") UUID transactionId);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE created_at < :cutoff", nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
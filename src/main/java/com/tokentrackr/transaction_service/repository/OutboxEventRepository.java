@@ -0,0 +1,23 @@
+package com.tokentrackr.transaction_service.repository;
+import com.tokentrackr.transaction_service.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED lets several relay instances drain the table without blocking each other
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "INSERT INTO outbox_dead_letters (id, saga_id, event_type, payload, error, created_at) " +
+            "SELECT id, saga_id, event_type, payload, :error, created_at FROM outbox_events WHERE id = :id " +
+            "ON CONFLICT (id) DO NOTHING", nativeQuery = true)
+    void copyToDeadLetters(@Param("id") Long id, @Param("error") String error);
+}
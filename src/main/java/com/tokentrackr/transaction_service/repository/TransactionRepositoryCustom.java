@@ -0,0 +1,23 @@
+package com.tokentrackr.transaction_service.repository;
+
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Writes status changes with targeted UPDATE statements sent as one JDBC batch, without loading the rows.
+     * Each update names the full primary key, so it touches a single partition. Only PENDING transactions
+     * change, so a saga outcome can never overwrite another one.
+     *
+     * @return the number of rows changed by each update, in order: 1 if it applied, 0 if the transaction
+     * was missing or no longer PENDING
+     */
+    int[] updateStatuses(List<StatusUpdate> updates);
+
+    record StatusUpdate(UUID transactionId, String userId, LocalDateTime createdAt, TransactionStatus status, String failureReason) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.tokentrackr.transaction_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE transactions SET status = ?, failure_reason = COALESCE(?, failure_reason), updated_at = NOW() " +
+            "WHERE id = ? AND created_at = ? AND status = 'PENDING'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] updateStatuses(List<StatusUpdate> updates) {
+        if (updates.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, updates, updates.size(), (ps, update) -> {
+            ps.setString(1, update.status().name());
+            ps.setString(2, update.failureReason());
+            ps.setObject(3, update.transactionId());
+            ps.setObject(4, update.createdAt());
+        })[0];
+    }
+}
@@ -0,0 +1,44 @@
+package com.tokentrackr.transaction_service.repository;
+
+import com.tokentrackr.transaction_service.entity.TransactionView;
+import com.tokentrackr.transaction_service.entity.TransactionViewId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TransactionViewRepository extends JpaRepository<TransactionView, TransactionViewId>, TransactionViewRepositoryCustom {
+
+    Page<TransactionView> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
+
+    Optional<TransactionView> findByUserIdAndId(String userId, UUID id);
+
+    @Query("SELECT v FROM TransactionView v WHERE v.userId = :userId AND v.cryptoId = :cryptoId ORDER BY v.createdAt DESC")
+    List<TransactionView> findByUserIdAndCryptoIdOrderByCreatedAtDesc(@Param("userId") String userId, @Param("cryptoId") String cryptoId);
+
+    @Query(value = "SELECT * FROM transaction_views WHERE user_id = :userId " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<TransactionView> findLatestByUserId(@Param("userId") String userId,
+                                             @Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM transaction_views WHERE user_id = :userId " +
+            "AND (created_at, id) < (:createdAt, :id) " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<TransactionView> findByUserIdBeforeCursor(@Param("userId") String userId,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") UUID id,
+                                                   @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM transaction_views WHERE user_id = :userId AND id = :id", nativeQuery = true)
+    void deleteByUserIdAndId(@Param("userId") String userId, @Param("id") UUID id);
+}
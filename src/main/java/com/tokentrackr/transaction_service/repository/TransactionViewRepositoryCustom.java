@@ -0,0 +1,29 @@
+package com.tokentrackr.transaction_service.repository;
+
+import com.tokentrackr.transaction_service.entity.Transaction;
+import com.tokentrackr.transaction_service.entity.TransactionView;
+import com.tokentrackr.transaction_service.repository.TransactionRepositoryCustom.StatusUpdate;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+public interface TransactionViewRepositoryCustom {
+
+    /**
+     * Adds freshly created transactions to the read model as one JDBC batch. Must run in the creating transaction.
+     */
+    void insertAll(Collection<Transaction> transactions);
+
+    /**
+     * Applies saga outcomes to the read model as one JDBC batch, in the transaction that writes them to {@code transactions}.
+     * Like there, only PENDING rows change.
+     */
+    void updateStatuses(Collection<StatusUpdate> updates);
+
+    /**
+     * Streams a user's transactions, newest first, from a server-side cursor reading {@code fetchSize} rows at a time.
+     * Rows are handed over as detached entities and never held by a persistence context.
+     * Must run inside a transaction, otherwise the driver materializes the whole result.
+     */
+    void forEachByUserId(String userId, int fetchSize, Consumer<TransactionView> consumer);
+}
@@ -0,0 +1,102 @@
+package com.tokentrackr.transaction_service.repository;
+
+import com.tokentrackr.transaction_service.entity.Transaction;
+import com.tokentrackr.transaction_service.entity.TransactionView;
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Price;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+import com.tokentrackr.transaction_service.repository.TransactionRepositoryCustom.StatusUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class TransactionViewRepositoryCustomImpl implements TransactionViewRepositoryCustom {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transaction_views (user_id, id, crypto_id, transaction_type, quantity, total_spent, " +
+            "price_per_coin, status, created_at, updated_at, failure_reason) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE transaction_views SET status = ?, failure_reason = COALESCE(?, failure_reason), updated_at = NOW() " +
+            "WHERE user_id = ? AND id = ? AND status = 'PENDING'";
+
+    private static final String STREAM_BY_USER_SQL =
+            "SELECT user_id, id, crypto_id, transaction_type, quantity, total_spent, price_per_coin, status, " +
+            "created_at, updated_at, failure_reason " +
+            "FROM transaction_views WHERE user_id = ? ORDER BY created_at DESC, id DESC";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Collection<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, transactions.size(), (ps, transaction) -> {
+            ps.setString(1, transaction.getUserId());
+            ps.setObject(2, transaction.getId());
+            ps.setString(3, transaction.getCryptoId());
+            ps.setString(4, transaction.getTransactionType().name());
+            ps.setBigDecimal(5, transaction.getQuantity().toBigDecimal());
+            ps.setBigDecimal(6, transaction.getTotalSpent().toBigDecimal());
+            ps.setBigDecimal(7, transaction.getPricePerCoin().toBigDecimal());
+            ps.setString(8, transaction.getStatus().name());
+            ps.setObject(9, transaction.getCreatedAt());
+            ps.setObject(10, transaction.getUpdatedAt());
+            ps.setString(11, transaction.getFailureReason());
+        });
+    }
+
+    @Override
+    public void updateStatuses(Collection<StatusUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, updates, updates.size(), (ps, update) -> {
+            ps.setString(1, update.status().name());
+            ps.setString(2, update.failureReason());
+            ps.setString(3, update.userId());
+            ps.setObject(4, update.transactionId());
+        });
+    }
+
+    @Override
+    public void forEachByUserId(String userId, int fetchSize, Consumer<TransactionView> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(STREAM_BY_USER_SQL);
+            ps.setFetchSize(fetchSize);
+            ps.setString(1, userId);
+            return ps;
+        }, rs -> {
+            consumer.accept(mapView(rs));
+        });
+    }
+
+    private TransactionView mapView(ResultSet rs) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return TransactionView.builder()
+                .userId(rs.getString("user_id"))
+                .id(rs.getObject("id", UUID.class))
+                .cryptoId(rs.getString("crypto_id"))
+                .transactionType(TransactionType.valueOf(rs.getString("transaction_type")))
+                .quantity(Quantity.of(rs.getBigDecimal("quantity")))
+                .totalSpent(Money.of(rs.getBigDecimal("total_spent")))
+                .pricePerCoin(Price.of(rs.getBigDecimal("price_per_coin")))
+                .status(TransactionStatus.valueOf(rs.getString("status")))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .updatedAt(updatedAt == null ? null : updatedAt.toLocalDateTime())
+                .failureReason(rs.getString("failure_reason"))
+                .build();
+    }
+}
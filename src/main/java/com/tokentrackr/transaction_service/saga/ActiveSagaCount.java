@@ -0,0 +1,34 @@
+package com.tokentrackr.transaction_service.saga;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Number of unfinished sagas in the state store, refreshed periodically. The count is shared by every
+ * instance using the same store and drops as soon as whichever instance finishes a saga commits it,
+ * unlike the armed deadlines, which stay on the starting instance until its timer is cancelled or fires.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ActiveSagaCount {
+
+    private final SagaStateStore sagaStateStore;
+
+    private volatile long count;
+
+    public long get() {
+        return count;
+    }
+
+    @Scheduled(fixedDelayString = "${saga.active-count.refresh-ms:500}")
+    public void refresh() {
+        try {
+            count = sagaStateStore.countActive();
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the active saga count, keeping {}", count, e);
+        }
+    }
+}
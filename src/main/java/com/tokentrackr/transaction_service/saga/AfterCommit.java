@@ -0,0 +1,28 @@
+package com.tokentrackr.transaction_service.saga;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory saga bookkeeping and outcome events until the handler's database transaction commits,
+ * so a rolled-back event leaves the saga as it was and can be handled again, and nothing is announced
+ * that was not committed.
+ */
+final class AfterCommit {
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private AfterCommit() {
+    }
+}
@@ -0,0 +1,76 @@
+package com.tokentrackr.transaction_service.saga;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+@Component
+@ConditionalOnProperty(name = "saga.state-store.type", havingValue = "memory", matchIfMissing = true)
+public class InMemorySagaStateStore implements SagaStateStore {
+
+    private final ConcurrentHashMap<String, TransactionSagaState> sagaStates = new ConcurrentHashMap<>();
+
+    @Override
+    public TransactionSagaState get(String sagaId) {
+        // Handlers mutate what they get; changes only become visible through save
+        TransactionSagaState sagaState = sagaStates.get(sagaId);
+        return sagaState == null ? null : sagaState.toBuilder().build();
+    }
+
+    @Override
+    public void create(List<TransactionSagaState> states) {
+        for (TransactionSagaState sagaState : states) {
+            sagaStates.put(sagaState.getSagaId(), sagaState);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    states.forEach(sagaState -> sagaStates.remove(sagaState.getSagaId(), sagaState));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void save(TransactionSagaState sagaState) {
+        TransactionSagaState snapshot = sagaState.toBuilder().build();
+        AfterCommit.run(() -> sagaStates.merge(snapshot.getSagaId(), snapshot, (current, next) ->
+                !current.isCompleted() || (current.isTimedOut() && next.isTimedOut()) ? next : current));
+    }
+
+    @Override
+    public void forEachActive(BiConsumer<String, Instant> action) {
+        sagaStates.values().stream()
+                .filter(sagaState -> !sagaState.isCompleted())
+                .forEach(sagaState -> action.accept(sagaState.getSagaId(), sagaState.getStartedAt()));
+    }
+
+    @Override
+    public long countActive() {
+        return sagaStates.values().stream().filter(sagaState -> !sagaState.isCompleted()).count();
+    }
+
+    @Override
+    public int purgeFinished(Instant startedBefore) {
+        int purged = 0;
+        for (Iterator<TransactionSagaState> it = sagaStates.values().iterator(); it.hasNext(); ) {
+            TransactionSagaState sagaState = it.next();
+            if (sagaState.isCompleted() && sagaState.getStartedAt() != null && sagaState.getStartedAt().isBefore(startedBefore)) {
+                it.remove();
+                purged++;
+            }
+        }
+        return purged;
+    }
+}
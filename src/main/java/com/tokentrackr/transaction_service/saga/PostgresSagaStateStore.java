@@ -0,0 +1,241 @@
+package com.tokentrackr.transaction_service.saga;
+
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Saga state store backed by the {@code saga_states} table.
+ * <p>
+ * Every write is part of the caller's database transaction. A new saga is inserted right away, so a
+ * reply handled on any replica finds it. Step updates made while handling a batch of events are
+ * collected per transaction and written in one JDBC batch just before it commits, so they become
+ * durable together with the inbox entries and status updates of the same events.
+ * <p>
+ * Inside a transaction a saga is read with {@code FOR UPDATE}, which serializes a timeout and a reply
+ * for the same saga even when they are handled on different replicas. Finished sagas stay behind as
+ * completed rows, and the upsert never turns a completed row back into an active one.
+ */
+@Component
+@ConditionalOnProperty(name = "saga.state-store.type", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresSagaStateStore implements SagaStateStore {
+
+    private static final String SELECT_SQL =
+            "SELECT saga_id, transaction_type, balance_updated, asset_updated, completed, failure_reason, " +
+            "transaction_id, user_id, crypto_id, quantity, total_spent, transaction_created_at, started_at, timed_out " +
+            "FROM saga_states WHERE saga_id = ?";
+
+    private static final String SELECT_FOR_UPDATE_SQL = SELECT_SQL + " FOR UPDATE";
+
+    // A timed-out row still records compensated steps; any other completed row is final
+    private static final String UPSERT_SQL =
+            "INSERT INTO saga_states (saga_id, transaction_type, balance_updated, asset_updated, completed, failure_reason, " +
+            "transaction_id, user_id, crypto_id, quantity, total_spent, transaction_created_at, started_at, timed_out, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW()) " +
+            "ON CONFLICT (saga_id) DO UPDATE SET " +
+            "balance_updated = EXCLUDED.balance_updated, " +
+            "asset_updated = EXCLUDED.asset_updated, " +
+            "completed = EXCLUDED.completed, " +
+            "failure_reason = EXCLUDED.failure_reason, " +
+            "transaction_id = EXCLUDED.transaction_id, " +
+            "user_id = EXCLUDED.user_id, " +
+            "crypto_id = EXCLUDED.crypto_id, " +
+            "quantity = EXCLUDED.quantity, " +
+            "total_spent = EXCLUDED.total_spent, " +
+            "transaction_created_at = EXCLUDED.transaction_created_at, " +
+            "started_at = EXCLUDED.started_at, " +
+            "timed_out = EXCLUDED.timed_out, " +
+            "updated_at = EXCLUDED.updated_at " +
+            "WHERE NOT saga_states.completed OR (saga_states.timed_out AND EXCLUDED.timed_out)";
+
+    private static final String SELECT_ACTIVE_SQL = "SELECT saga_id, started_at FROM saga_states WHERE NOT completed";
+
+    private static final String COUNT_ACTIVE_SQL = "SELECT COUNT(*) FROM saga_states WHERE NOT completed";
+
+    private static final String PURGE_FINISHED_SQL = "DELETE FROM saga_states WHERE completed AND started_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public TransactionSagaState get(String sagaId) {
+        Map<String, SagaStateRow> pendingWrites = pendingWrites();
+        if (pendingWrites != null && pendingWrites.containsKey(sagaId)) {
+            return pendingWrites.get(sagaId).toState();
+        }
+
+        String sql = TransactionSynchronizationManager.isActualTransactionActive() ? SELECT_FOR_UPDATE_SQL : SELECT_SQL;
+        List<TransactionSagaState> states = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            TransactionType transactionType = TransactionType.valueOf(rs.getString("transaction_type"));
+            UUID transactionId = rs.getObject("transaction_id", UUID.class);
+            TransactionSnapshot transaction = transactionId == null ? null : new TransactionSnapshot(
+                    transactionId,
+                    rs.getString("user_id"),
+                    rs.getString("crypto_id"),
+                    transactionType,
+                    Quantity.of(rs.getBigDecimal("quantity")),
+                    Money.of(rs.getBigDecimal("total_spent")),
+                    rs.getObject("transaction_created_at", LocalDateTime.class));
+            Timestamp startedAt = rs.getTimestamp("started_at");
+
+            return TransactionSagaState.builder()
+                    .sagaId(rs.getString("saga_id"))
+                    .transactionType(transactionType)
+                    .balanceUpdated(rs.getBoolean("balance_updated"))
+                    .assetUpdated(rs.getBoolean("asset_updated"))
+                    .completed(rs.getBoolean("completed"))
+                    .failureReason(rs.getString("failure_reason"))
+                    .transaction(transaction)
+                    .startedAt(startedAt == null ? null : startedAt.toInstant())
+                    .timedOut(rs.getBoolean("timed_out"))
+                    .build();
+        }, sagaId);
+
+        return states.isEmpty() ? null : states.get(0);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void create(List<TransactionSagaState> sagaStates) {
+        write(sagaStates.stream().map(SagaStateRow::of).toList());
+    }
+
+    @Override
+    public void save(TransactionSagaState sagaState) {
+        SagaStateRow row = SagaStateRow.of(sagaState);
+        Map<String, SagaStateRow> pendingWrites = pendingWrites();
+        if (pendingWrites == null) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                write(List.of(row));
+                return;
+            }
+            pendingWrites = bindPendingWrites();
+        }
+        pendingWrites.put(row.sagaId(), row);
+    }
+
+    @Override
+    public void forEachActive(BiConsumer<String, Instant> action) {
+        jdbcTemplate.query(SELECT_ACTIVE_SQL, rs -> {
+            Timestamp startedAt = rs.getTimestamp("started_at");
+            action.accept(rs.getString("saga_id"), startedAt == null ? null : startedAt.toInstant());
+        });
+    }
+
+    @Override
+    public long countActive() {
+        Long count = jdbcTemplate.queryForObject(COUNT_ACTIVE_SQL, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public int purgeFinished(Instant startedBefore) {
+        return jdbcTemplate.update(PURGE_FINISHED_SQL, Timestamp.from(startedBefore));
+    }
+
+    private void write(List<SagaStateRow> rows) {
+        int[][] counts = jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), PostgresSagaStateStore::setUpsertParameters);
+        // Rewritten batches report SUCCESS_NO_INFO; a reported 0 means the guard kept a finished saga finished
+        for (int[] batch : counts) {
+            for (int i = 0; i < batch.length; i++) {
+                if (batch[i] == 0) {
+                    throw new OptimisticLockingFailureException("Saga " + rows.get(i).sagaId() + " already finished");
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, SagaStateRow> pendingWrites() {
+        return (Map<String, SagaStateRow>) TransactionSynchronizationManager.getResource(this);
+    }
+
+    private Map<String, SagaStateRow> bindPendingWrites() {
+        Map<String, SagaStateRow> pendingWrites = new LinkedHashMap<>();
+        TransactionSynchronizationManager.bindResource(this, pendingWrites);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!pendingWrites.isEmpty()) {
+                    write(new ArrayList<>(pendingWrites.values()));
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PostgresSagaStateStore.this);
+            }
+        });
+        return pendingWrites;
+    }
+
+    private static void setUpsertParameters(PreparedStatement ps, SagaStateRow row) throws SQLException {
+        ps.setString(1, row.sagaId());
+        ps.setString(2, row.transactionType().name());
+        ps.setBoolean(3, row.balanceUpdated());
+        ps.setBoolean(4, row.assetUpdated());
+        ps.setBoolean(5, row.completed());
+        ps.setString(6, row.failureReason());
+        TransactionSnapshot transaction = row.transaction();
+        ps.setObject(7, transaction == null ? null : transaction.transactionId());
+        ps.setString(8, transaction == null ? null : transaction.userId());
+        ps.setString(9, transaction == null ? null : transaction.cryptoId());
+        ps.setBigDecimal(10, transaction == null ? null : transaction.quantity().toBigDecimal());
+        ps.setBigDecimal(11, transaction == null ? null : transaction.totalSpent().toBigDecimal());
+        ps.setObject(12, transaction == null ? null : transaction.createdAt());
+        ps.setTimestamp(13, row.startedAt() == null ? null : Timestamp.from(row.startedAt()));
+        ps.setBoolean(14, row.timedOut());
+    }
+
+    private record SagaStateRow(String sagaId,
+                                TransactionType transactionType,
+                                boolean balanceUpdated,
+                                boolean assetUpdated,
+                                boolean completed,
+                                String failureReason,
+                                TransactionSnapshot transaction,
+                                Instant startedAt,
+                                boolean timedOut) {
+
+        static SagaStateRow of(TransactionSagaState state) {
+            return new SagaStateRow(state.getSagaId(), state.getTransactionType(), state.isBalanceUpdated(),
+                    state.isAssetUpdated(), state.isCompleted(), state.getFailureReason(), state.getTransaction(),
+                    state.getStartedAt(), state.isTimedOut());
+        }
+
+        TransactionSagaState toState() {
+            return TransactionSagaState.builder()
+                    .sagaId(sagaId)
+                    .transactionType(transactionType)
+                    .balanceUpdated(balanceUpdated)
+                    .assetUpdated(assetUpdated)
+                    .completed(completed)
+                    .failureReason(failureReason)
+                    .transaction(transaction)
+                    .startedAt(startedAt)
+                    .timedOut(timedOut)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.tokentrackr.transaction_service.saga;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs saga work on striped single-threaded lanes chosen by hashing the sagaId.
+ * <p>
+ * All events of one saga execute one at a time and in submission order, while different sagas
+ * spread across lanes and run in parallel. Callers block until their work is done so listener
+ * acknowledgements still happen only after the event was processed.
+ */
+@Component
+@Slf4j
+public class SagaExecutor {
+
+    @Value("${saga.executor.lanes:0}")
+    private int configuredLanes;
+
+    private ExecutorService[] lanes;
+
+    @PostConstruct
+    void init() {
+        int laneCount = configuredLanes > 0 ? configuredLanes : Runtime.getRuntime().availableProcessors();
+        ThreadFactory threadFactory = new CustomizableThreadFactory("saga-lane-");
+        lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+        log.info("Started {} saga execution lanes", laneCount);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    public void execute(String sagaId, Runnable task) {
+        await(lanes[laneOf(sagaId)].submit(task));
+    }
+
+    /**
+     * Queues work on the saga's lane without waiting for it, for callers that must not block.
+     */
+    public void submit(String sagaId, Runnable task) {
+        lanes[laneOf(sagaId)].execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Saga lane task failed for saga: {}", sagaId, e);
+            }
+        });
+    }
+
+    /**
+     * Splits a batch by lane, keeping the relative order of events within each lane,
+     * hands every sub-batch to its lane and waits for all of them.
+     * <p>
+     * A sub-batch that fails is rolled back as a whole and its events are retried one at a time, in order,
+     * so a single bad event cannot hold back the others.
+     *
+     * @return the events that still failed on their own, with their errors
+     */
+    public <T> List<FailedEvent<T>> executeBatch(List<T> events, Function<T, String> sagaIdOf, Consumer<List<T>> handler) {
+        Map<Integer, List<T>> byLane = new LinkedHashMap<>();
+        for (T event : events) {
+            byLane.computeIfAbsent(laneOf(sagaIdOf.apply(event)), lane -> new ArrayList<>()).add(event);
+        }
+
+        List<FailedEvent<T>> failures = Collections.synchronizedList(new ArrayList<>());
+        List<Future<?>> futures = new ArrayList<>(byLane.size());
+        byLane.forEach((lane, laneEvents) -> futures.add(lanes[lane].submit(() -> {
+            try {
+                handler.accept(laneEvents);
+            } catch (RuntimeException e) {
+                if (laneEvents.size() == 1) {
+                    failures.add(new FailedEvent<>(laneEvents.get(0), e));
+                    return;
+                }
+                log.warn("Saga batch of {} events failed, retrying them one by one", laneEvents.size(), e);
+                for (T event : laneEvents) {
+                    try {
+                        handler.accept(List.of(event));
+                    } catch (RuntimeException eventFailure) {
+                        failures.add(new FailedEvent<>(event, eventFailure));
+                    }
+                }
+            }
+        })));
+
+        for (Future<?> future : futures) {
+            await(future);
+        }
+        return List.copyOf(failures);
+    }
+
+    public record FailedEvent<T>(T event, RuntimeException error) {
+    }
+
+    private int laneOf(String sagaId) {
+        int hash = sagaId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    private void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for saga lane", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Saga lane task failed", e.getCause());
+        }
+    }
+}
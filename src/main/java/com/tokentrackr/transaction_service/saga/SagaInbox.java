@@ -0,0 +1,107 @@
+package com.tokentrackr.transaction_service.saga;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.tokentrackr.transaction_service.config.CacheConfig.SagaInboxKey;
+import com.tokentrackr.transaction_service.enums.SagaEventType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Drops redelivered saga response events before they reach the orchestrator logic.
+ * <p>
+ * A bounded set of recently processed (sagaId, event type) pairs rejects most duplicates in memory.
+ * Everything else is recorded in {@code processed_messages} in the handler's own database transaction,
+ * so an event counts as processed exactly when its effects commit. Pairs are added to the in-memory
+ * set only after that commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SagaInbox {
+
+    private static final String RECORD_SQL =
+            "INSERT INTO processed_messages (saga_id, event_type, processed_at) " +
+            "SELECT saga_id, ?, NOW() FROM unnest(?::varchar[]) AS saga_id " +
+            "ON CONFLICT (saga_id, event_type) DO NOTHING " +
+            "RETURNING saga_id";
+
+    private static final String PURGE_SQL = "DELETE FROM processed_messages WHERE processed_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<SagaInboxKey, Boolean> sagaInboxCache;
+
+    @Value("${saga.inbox.retention-days:7}")
+    private long retentionDays;
+
+    /**
+     * Returns the events not processed before, in their original order, and records them as processed.
+     * Must run inside the transaction that applies their effects.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> List<T> filterUnprocessed(List<T> events, SagaEventType eventType, Function<T, String> sagaIdOf) {
+        Map<String, T> candidates = new LinkedHashMap<>();
+        for (T event : events) {
+            String sagaId = sagaIdOf.apply(event);
+            if (sagaInboxCache.getIfPresent(new SagaInboxKey(sagaId, eventType)) != null) {
+                log.warn("Dropping duplicate {} event for saga: {}", eventType, sagaId);
+                continue;
+            }
+            if (candidates.putIfAbsent(sagaId, event) != null) {
+                log.warn("Dropping duplicate {} event for saga: {} within batch", eventType, sagaId);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        String[] sagaIds = candidates.keySet().toArray(String[]::new);
+        Set<String> recorded = new HashSet<>(jdbcTemplate.query(RECORD_SQL, ps -> {
+            ps.setString(1, eventType.name());
+            ps.setArray(2, ps.getConnection().createArrayOf("varchar", sagaIds));
+        }, (rs, rowNum) -> rs.getString(1)));
+
+        List<T> unprocessed = new ArrayList<>(recorded.size());
+        candidates.forEach((sagaId, event) -> {
+            if (recorded.contains(sagaId)) {
+                unprocessed.add(event);
+            } else {
+                log.warn("Dropping already processed {} event for saga: {}", eventType, sagaId);
+                sagaInboxCache.put(new SagaInboxKey(sagaId, eventType), Boolean.TRUE);
+            }
+        });
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recorded.forEach(sagaId -> sagaInboxCache.put(new SagaInboxKey(sagaId, eventType), Boolean.TRUE));
+            }
+        });
+        return unprocessed;
+    }
+
+    @Scheduled(fixedDelayString = "${saga.inbox.purge-interval-ms:3600000}")
+    public void purgeProcessedMessages() {
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays)));
+        if (purged > 0) {
+            log.info("Purged {} processed saga messages", purged);
+        }
+    }
+}
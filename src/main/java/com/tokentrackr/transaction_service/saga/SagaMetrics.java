@@ -0,0 +1,87 @@
+package com.tokentrackr.transaction_service.saga;
+
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Saga instrumentation. Step timers measure the time from saga start to each step, tagged by
+ * step and transaction type; meters are resolved once up front so recording does no lookups.
+ */
+@Component
+public class SagaMetrics {
+
+    public enum Step {
+        BALANCE_UPDATED,
+        ASSET_UPDATED,
+        COMPLETED,
+        FAILED
+    }
+
+    private final Map<Step, Map<TransactionType, Timer>> stepTimers = new EnumMap<>(Step.class);
+    private final Counter balanceCompensations;
+    private final Counter assetCompensations;
+    private final Counter stateNotFound;
+
+    public SagaMetrics(MeterRegistry meterRegistry, ActiveSagaCount activeSagaCount) {
+        for (Step step : Step.values()) {
+            Map<TransactionType, Timer> timers = new EnumMap<>(TransactionType.class);
+            for (TransactionType type : TransactionType.values()) {
+                timers.put(type, Timer.builder("saga.step.duration")
+                        .description("Time from saga start until the step")
+                        .tag("step", step.name().toLowerCase(Locale.ROOT))
+                        .tag("type", type.name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            stepTimers.put(step, timers);
+        }
+
+        balanceCompensations = compensationCounter(meterRegistry, "balance");
+        assetCompensations = compensationCounter(meterRegistry, "asset");
+        stateNotFound = Counter.builder("saga.state.not.found")
+                .description("Saga events whose saga state was missing")
+                .register(meterRegistry);
+
+        // Read from the state store, so a saga finished on another instance stops counting at once
+        Gauge.builder("saga.in.flight", activeSagaCount, ActiveSagaCount::get)
+                .description("Sagas in the state store that have not finished")
+                .register(meterRegistry);
+    }
+
+    public void recordStep(Step step, TransactionSagaState sagaState) {
+        Instant startedAt = sagaState.getStartedAt();
+        if (startedAt == null || sagaState.getTransactionType() == null) {
+            return;
+        }
+        stepTimers.get(step).get(sagaState.getTransactionType()).record(Duration.between(startedAt, Instant.now()));
+    }
+
+    public void balanceCompensated() {
+        balanceCompensations.increment();
+    }
+
+    public void assetCompensated() {
+        assetCompensations.increment();
+    }
+
+    public void stateNotFound() {
+        stateNotFound.increment();
+    }
+
+    private static Counter compensationCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("saga.compensations")
+                .description("Compensating commands issued")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.tokentrackr.transaction_service.saga;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+public interface SagaStateStore {
+
+    /**
+     * Finished sagas stay readable as completed states until they are purged. Inside a transaction the
+     * saga stays locked against concurrent handlers until that transaction ends.
+     *
+     * @return the state for the given saga, or {@code null} if the saga is unknown or already purged
+     */
+    TransactionSagaState get(String sagaId);
+
+    /**
+     * Records newly started sagas as part of the caller's transaction, so they exist before their first
+     * command can be relayed and disappear again if that transaction rolls back.
+     */
+    void create(List<TransactionSagaState> sagaStates);
+
+    /**
+     * Records a step update, or a finished saga, as part of the caller's transaction. A finished saga is
+     * never made active again.
+     */
+    void save(TransactionSagaState sagaState);
+
+    /**
+     * Calls the action with the id and start time of every saga that has not finished yet.
+     */
+    void forEachActive(BiConsumer<String, Instant> action);
+
+    /**
+     * @return the number of sagas that have not finished yet, whichever instance started them
+     */
+    long countActive();
+
+    /**
+     * Deletes finished sagas started before the cutoff.
+     *
+     * @return the number of sagas deleted
+     */
+    int purgeFinished(Instant startedBefore);
+}
@@ -0,0 +1,302 @@
+package com.tokentrackr.transaction_service.saga;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saga deadlines on a hashed timing wheel.
+ * <p>
+ * Scheduling and cancelling only touch a map and a lock-free queue, so both are O(1) no matter
+ * how many sagas are in flight. A single worker thread owns the wheel: every tick it moves new
+ * timeouts into their buckets, unlinks cancelled ones and expires the current bucket. Expired
+ * sagas are handed to their {@link SagaExecutor} lane so the timeout is serialized with any
+ * reply for the same saga.
+ * <p>
+ * Deadlines only live in memory. On startup, every saga still active in the {@link SagaStateStore}
+ * gets its deadline back from its start time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SagaTimeoutScheduler {
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final SagaExecutor sagaExecutor;
+    private final ObjectProvider<TransactionSagaOrchestrator> orchestratorProvider;
+    private final SagaStateStore sagaStateStore;
+
+    @Value("${saga.timeout.ms:60000}")
+    private long timeoutMs;
+
+    @Value("${saga.timeout.tick-ms:100}")
+    private long tickMs;
+
+    @Value("${saga.timeout.wheel-size:512}")
+    private int wheelSize;
+
+    @Value("${saga.timeout.recovery-grace-ms:5000}")
+    private long recoveryGraceMs;
+
+    @Value("${saga.timeout.tombstone-retention-ms:86400000}")
+    private long tombstoneRetentionMs;
+
+    private final Map<String, Timeout> timeouts = new ConcurrentHashMap<>();
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+    private Bucket[] wheel;
+    private int mask;
+    private long tickNanos;
+    private long startNanos;
+    private long tick;
+    private volatile boolean running;
+    private Thread worker;
+
+    @PostConstruct
+    void start() {
+        int size = Integer.highestOneBit(Math.max(wheelSize, 1) * 2 - 1);
+        wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        mask = size - 1;
+        tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        startNanos = System.nanoTime();
+        running = true;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("saga-timeout-");
+        threadFactory.setDaemon(true);
+        worker = threadFactory.newThread(this::run);
+        worker.start();
+        log.info("Started saga timeout wheel with {} buckets of {} ms, timeout {} ms", size, tickMs, timeoutMs);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Arms the deadline for a saga, replacing any previous one.
+     */
+    public void schedule(String sagaId) {
+        arm(sagaId, TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+    }
+
+    // Sagas from a previous run, or still running on another replica. The grace period lets a replica
+    // that owns a saga time it out first; this one then finds it finished.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rearmActiveSagas() {
+        Instant now = Instant.now();
+        AtomicInteger rearmed = new AtomicInteger();
+        sagaStateStore.forEachActive((sagaId, startedAt) -> {
+            if (timeouts.containsKey(sagaId)) {
+                return;
+            }
+            long remainingMs = startedAt == null
+                    ? timeoutMs
+                    : Math.max(Duration.between(now, startedAt.plusMillis(timeoutMs)).toMillis(), 0);
+            arm(sagaId, TimeUnit.MILLISECONDS.toNanos(remainingMs + recoveryGraceMs));
+            rearmed.incrementAndGet();
+        });
+        if (rearmed.get() > 0) {
+            log.info("Re-armed timeouts for {} active sagas", rearmed.get());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${saga.timeout.tombstone-purge-interval-ms:3600000}")
+    public void purgeTombstones() {
+        int purged = sagaStateStore.purgeFinished(Instant.now().minusMillis(tombstoneRetentionMs));
+        if (purged > 0) {
+            log.info("Purged {} finished saga tombstones", purged);
+        }
+    }
+
+    public void cancel(String sagaId) {
+        Timeout timeout = timeouts.remove(sagaId);
+        if (timeout != null && timeout.cancel()) {
+            cancelledTimeouts.add(timeout);
+        }
+    }
+
+    public int pendingCount() {
+        return timeouts.size();
+    }
+
+    private void arm(String sagaId, long delayNanos) {
+        long deadline = System.nanoTime() - startNanos + delayNanos;
+        Timeout timeout = new Timeout(sagaId, deadline);
+        Timeout previous = timeouts.put(sagaId, timeout);
+        if (previous != null && previous.cancel()) {
+            cancelledTimeouts.add(previous);
+        }
+        pendingTimeouts.add(timeout);
+    }
+
+    private void run() {
+        while (running) {
+            if (!waitForNextTick()) {
+                continue;
+            }
+            removeCancelled();
+            transferPending();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+    }
+
+    private boolean waitForNextTick() {
+        long sleepNanos = tickNanos * (tick + 1) - (System.nanoTime() - startNanos);
+        if (sleepNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != Timeout.ARMED) {
+                continue;
+            }
+
+            long expiryTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            // Deadlines already in the past go into the current bucket
+            wheel[(int) (Math.max(expiryTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        if (!timeouts.remove(timeout.sagaId, timeout)) {
+            return;
+        }
+        try {
+            sagaExecutor.submit(timeout.sagaId, () -> orchestratorProvider.getObject().handleSagaTimeout(timeout.sagaId));
+        } catch (RuntimeException e) {
+            log.error("Failed to dispatch timeout for saga: {}", timeout.sagaId, e);
+        }
+    }
+
+    private static final class Timeout {
+        static final int ARMED = 0;
+        static final int CANCELLED = 1;
+        static final int EXPIRED = 2;
+
+        final String sagaId;
+        final long deadline;
+        final AtomicInteger state = new AtomicInteger(ARMED);
+
+        // Owned by the worker thread
+        long remainingRounds;
+        Bucket bucket;
+        Timeout prev;
+        Timeout next;
+
+        Timeout(String sagaId, long deadline) {
+            this.sagaId = sagaId;
+            this.deadline = deadline;
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(ARMED, CANCELLED);
+        }
+
+        boolean expire() {
+            return state.compareAndSet(ARMED, EXPIRED);
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, only ever touched by the worker thread.
+     */
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.expire()) {
+                        fire(timeout);
+                    }
+                } else if (timeout.state.get() == Timeout.CANCELLED) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -3,10 +3,14 @@ package com.tokentrackr.transaction_service.saga;
 import com.tokentrackr.transaction_service.dto.events.*;
 import com.tokentrackr.transaction_service.entity.Transaction;
 
+import java.util.List;
+
 public interface TransactionSagaOrchestrator {
 
     void startTransactionSaga(Transaction transaction);
 
+    void startTransactionSagas(List<Transaction> transactions);
+
     void handleBalanceUpdated(BalanceUpdatedEvent event);
 
     void handleAssetUpdated(AssetUpdatedEvent event);
@@ -14,4 +18,14 @@ public interface TransactionSagaOrchestrator {
     void handleBalanceUpdateFailed(BalanceUpdateFailedEvent event);
 
     void handleAssetUpdateFailed(AssetUpdateFailedEvent event);
+
+    void handleBalanceUpdatedBatch(List<BalanceUpdatedEvent> events);
+
+    void handleAssetUpdatedBatch(List<AssetUpdatedEvent> events);
+
+    void handleBalanceUpdateFailedBatch(List<BalanceUpdateFailedEvent> events);
+
+    void handleAssetUpdateFailedBatch(List<AssetUpdateFailedEvent> events);
+
+    void handleSagaTimeout(String sagaId);
 }
@@ -1,213 +1,439 @@
 package com.tokentrackr.transaction_service.saga;
 import com.tokentrackr.transaction_service.dto.events.*;
 import com.tokentrackr.transaction_service.entity.Transaction;
+import com.tokentrackr.transaction_service.enums.SagaEventType;
 import com.tokentrackr.transaction_service.enums.TransactionStatus;
 import com.tokentrackr.transaction_service.enums.TransactionType;
 import com.tokentrackr.transaction_service.exception.TransactionNotFoundException;
 import com.tokentrackr.transaction_service.repository.TransactionRepository;
+import com.tokentrackr.transaction_service.repository.TransactionRepositoryCustom.StatusUpdate;
+import com.tokentrackr.transaction_service.repository.TransactionViewRepository;
+import com.tokentrackr.transaction_service.service.interfaces.HoldingService;
+import com.tokentrackr.transaction_service.service.messaging.CommandOutbox;
 import com.tokentrackr.transaction_service.service.messaging.EventPublisher;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class TransactionSagaOrchestratorImpl implements TransactionSagaOrchestrator {
     private final EventPublisher eventPublisher;
+    private final CommandOutbox commandOutbox;
     private final TransactionRepository transactionRepository;
-    private final ConcurrentHashMap<String, TransactionSagaState> sagaStates = new ConcurrentHashMap<>();
+    private final TransactionViewRepository transactionViewRepository;
+    private final SagaStateStore sagaStateStore;
+    private final HoldingService holdingService;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final SagaTimeoutScheduler sagaTimeoutScheduler;
+    private final SagaInbox sagaInbox;
+    private final SagaMetrics sagaMetrics;
 
     public void startTransactionSaga(Transaction transaction) {
         log.info("Starting SAGA for transaction: {}", transaction.getId());
 
-        TransactionSagaState sagaState = TransactionSagaState.builder()
-                .sagaId(transaction.getSagaId())
-                .transactionType(transaction.getTransactionType())
-                .balanceUpdated(false)
-                .assetUpdated(false)
-                .completed(false)
-                .build();
+        TransactionSagaState sagaState = newSagaState(transaction);
+        sagaStateStore.create(List.of(sagaState));
+        // Armed once the saga exists for everyone; a rolled-back saga never times out
+        AfterCommit.run(() -> sagaTimeoutScheduler.schedule(sagaState.getSagaId()));
 
-        sagaStates.put(transaction.getSagaId(), sagaState);
-
-        // Start with appropriate step based on transaction type
+        // Start with appropriate step based on transaction type.
+        // The first command goes through the outbox so it is only sent once the transaction commits.
         if (transaction.getTransactionType() == TransactionType.BUY) {
-            publishBalanceUpdate(transaction, TransactionType.BUY);
+            commandOutbox.enqueueBalanceUpdate(buildBalanceUpdate(sagaState, TransactionType.BUY));
         } else {
-            publishAssetUpdate(transaction, TransactionType.SELL);
+            commandOutbox.enqueueAssetUpdate(buildAssetUpdate(sagaState, TransactionType.SELL));
         }
     }
 
-    public void handleBalanceUpdated(BalanceUpdatedEvent event) {
-        log.info("Handling balance updated event for saga: {}", event.getSagaId());
+    public void startTransactionSagas(List<Transaction> transactions) {
+        log.info("Starting {} SAGAs", transactions.size());
 
-        TransactionSagaState sagaState = sagaStates.get(event.getSagaId());
-        if (sagaState == null) {
-            log.error("SAGA state not found for sagaId: {}", event.getSagaId());
-            return;
-        }
+        List<TransactionSagaState> sagaStates = new ArrayList<>(transactions.size());
+        List<Object> commands = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            TransactionSagaState sagaState = newSagaState(transaction);
+            sagaStates.add(sagaState);
 
-        sagaState.setBalanceUpdated(true);
+            if (transaction.getTransactionType() == TransactionType.BUY) {
+                commands.add(buildBalanceUpdate(sagaState, TransactionType.BUY));
+            } else {
+                commands.add(buildAssetUpdate(sagaState, TransactionType.SELL));
+            }
+        }
 
-        Transaction transaction = transactionRepository.findBySagaId(event.getSagaId())
-                .orElseThrow(() -> new RuntimeException("Transaction not found for sagaId: " + event.getSagaId()));
+        sagaStateStore.create(sagaStates);
+        AfterCommit.run(() -> sagaStates.forEach(sagaState -> sagaTimeoutScheduler.schedule(sagaState.getSagaId())));
+        commandOutbox.enqueueCommands(commands);
+    }
 
-        // Determine next step based on transaction type
-        if (sagaState.getTransactionType() == TransactionType.BUY) {
-            // After balance update for BUY, update assets
-            publishAssetUpdate(transaction, TransactionType.BUY);
-        } else {
-            // For SELL, balance update is the final step
-            handleSagaCompletion(event.getSagaId(), event.getTransactionId());
-        }
+    // Single events are handled as batches of one so both listener modes share the same code path.
+    @Transactional
+    public void handleBalanceUpdated(BalanceUpdatedEvent event) {
+        handleBalanceUpdatedBatch(List.of(event));
     }
 
+    @Transactional
     public void handleAssetUpdated(AssetUpdatedEvent event) {
-        log.info("Handling asset updated event for saga: {}", event.getSagaId());
+        handleAssetUpdatedBatch(List.of(event));
+    }
 
-        TransactionSagaState sagaState = sagaStates.get(event.getSagaId());
-        if (sagaState == null) {
-            log.error("SAGA state not found for sagaId: {}", event.getSagaId());
-            return;
+    @Transactional
+    public void handleBalanceUpdateFailed(BalanceUpdateFailedEvent event) {
+        handleBalanceUpdateFailedBatch(List.of(event));
+    }
+
+    @Transactional
+    public void handleAssetUpdateFailed(AssetUpdateFailedEvent event) {
+        handleAssetUpdateFailedBatch(List.of(event));
+    }
+
+    // Redelivered events are dropped by the inbox first. Steps publish from the snapshot carried in
+    // the saga state; outcomes are collected and their status changes written as one batch of targeted
+    // UPDATEs at the end, to both the transactions table and its read model.
+    @Transactional
+    public void handleBalanceUpdatedBatch(List<BalanceUpdatedEvent> events) {
+        List<Outcome> outcomes = new ArrayList<>();
+
+        for (BalanceUpdatedEvent event : sagaInbox.filterUnprocessed(events, SagaEventType.BALANCE_UPDATED, BalanceUpdatedEvent::getSagaId)) {
+            log.info("Handling balance updated event for saga: {}", event.getSagaId());
+
+            TransactionSagaState sagaState = getActiveSagaState(event.getSagaId(), this::compensateLateBalanceUpdate);
+            if (sagaState == null) {
+                continue;
+            }
+
+            if (sagaState.isBalanceUpdated()) {
+                log.warn("Ignoring duplicate balance updated event for saga: {}", event.getSagaId());
+                continue;
+            }
+
+            sagaState.setBalanceUpdated(true);
+            sagaMetrics.recordStep(SagaMetrics.Step.BALANCE_UPDATED, sagaState);
+            sagaStateStore.save(sagaState);
+
+            // Determine next step based on transaction type
+            if (sagaState.getTransactionType() == TransactionType.BUY) {
+                // After balance update for BUY, update assets
+                eventPublisher.publishAssetUpdate(buildAssetUpdate(sagaState, TransactionType.BUY));
+            } else {
+                // For SELL, balance update is the final step
+                handleSagaCompletion(sagaState, outcomes);
+            }
         }
 
-        sagaState.setAssetUpdated(true);
+        applyOutcomes(outcomes);
+    }
 
-        Transaction transaction = transactionRepository.findBySagaId(event.getSagaId())
-                .orElseThrow(() -> new RuntimeException("Transaction not found for sagaId: " + event.getSagaId()));
+    @Transactional
+    public void handleAssetUpdatedBatch(List<AssetUpdatedEvent> events) {
+        List<Outcome> outcomes = new ArrayList<>();
+
+        for (AssetUpdatedEvent event : sagaInbox.filterUnprocessed(events, SagaEventType.ASSET_UPDATED, AssetUpdatedEvent::getSagaId)) {
+            log.info("Handling asset updated event for saga: {}", event.getSagaId());
+
+            TransactionSagaState sagaState = getActiveSagaState(event.getSagaId(), this::compensateLateAssetUpdate);
+            if (sagaState == null) {
+                continue;
+            }
+
+            if (sagaState.isAssetUpdated()) {
+                log.warn("Ignoring duplicate asset updated event for saga: {}", event.getSagaId());
+                continue;
+            }
+
+            sagaState.setAssetUpdated(true);
+            sagaMetrics.recordStep(SagaMetrics.Step.ASSET_UPDATED, sagaState);
+            sagaStateStore.save(sagaState);
+
+            // Determine next step based on transaction type
+            if (sagaState.getTransactionType() == TransactionType.BUY) {
+                // For BUY, asset update is the final step
+                handleSagaCompletion(sagaState, outcomes);
+            } else {
+                // After asset update for SELL, update balance
+                eventPublisher.publishBalanceUpdate(buildBalanceUpdate(sagaState, TransactionType.SELL));
+            }
+        }
 
-        // Determine next step based on transaction type
-        if (sagaState.getTransactionType() == TransactionType.BUY) {
-            // For BUY, asset update is the final step
-            handleSagaCompletion(event.getSagaId(), event.getTransactionId());
-        } else {
-            // After asset update for SELL, update balance
-            publishBalanceUpdate(transaction, TransactionType.SELL);
+        applyOutcomes(outcomes);
+    }
+
+    @Transactional
+    public void handleBalanceUpdateFailedBatch(List<BalanceUpdateFailedEvent> events) {
+        List<Outcome> outcomes = new ArrayList<>();
+
+        for (BalanceUpdateFailedEvent event : sagaInbox.filterUnprocessed(events, SagaEventType.BALANCE_UPDATE_FAILED, BalanceUpdateFailedEvent::getSagaId)) {
+            log.info("Handling balance update failed event for saga: {}", event.getSagaId());
+
+            TransactionSagaState sagaState = getActiveSagaState(event.getSagaId());
+            if (sagaState == null) {
+                continue;
+            }
+
+            // Only compensate if we've already updated assets (SELL transaction)
+            if (sagaState.getTransactionType() == TransactionType.SELL && sagaState.isAssetUpdated()) {
+                compensateAssetUpdate(sagaState);
+            }
+
+            handleSagaFailure(sagaState, event.getFailureReason(), outcomes);
         }
+
+        applyOutcomes(outcomes);
     }
 
-    public void handleBalanceUpdateFailed(BalanceUpdateFailedEvent event) {
-        log.info("Handling balance update failed event for saga: {}", event.getSagaId());
+    @Transactional
+    public void handleAssetUpdateFailedBatch(List<AssetUpdateFailedEvent> events) {
+        List<Outcome> outcomes = new ArrayList<>();
+
+        for (AssetUpdateFailedEvent event : sagaInbox.filterUnprocessed(events, SagaEventType.ASSET_UPDATE_FAILED, AssetUpdateFailedEvent::getSagaId)) {
+            log.info("Handling asset update failed event for saga: {}", event.getSagaId());
+
+            TransactionSagaState sagaState = getActiveSagaState(event.getSagaId());
+            if (sagaState == null) {
+                continue;
+            }
+
+            // Only compensate if we've already updated balance (BUY transaction)
+            if (sagaState.getTransactionType() == TransactionType.BUY && sagaState.isBalanceUpdated()) {
+                compensateBalanceUpdate(sagaState);
+            }
+
+            handleSagaFailure(sagaState, event.getFailureReason(), outcomes);
+        }
+
+        applyOutcomes(outcomes);
+    }
 
-        TransactionSagaState sagaState = sagaStates.get(event.getSagaId());
+    // Confirmed steps are compensated now. The saga is then kept as a timed-out tombstone, so a step that
+    // was still in flight and succeeds later is compensated when its reply arrives.
+    @Transactional
+    public void handleSagaTimeout(String sagaId) {
+        TransactionSagaState sagaState = getActiveSagaState(sagaId);
         if (sagaState == null) {
-            log.error("SAGA state not found for sagaId: {}", event.getSagaId());
             return;
         }
+        log.warn("SAGA timed out for sagaId: {}", sagaId);
+        sagaState.setTimedOut(true);
 
-        // Only compensate if we've already updated assets (SELL transaction)
-        if (sagaState.getTransactionType() == TransactionType.SELL && sagaState.isAssetUpdated()) {
-            compensateAssetUpdate(event.getSagaId(), event.getTransactionId());
+        if (sagaState.getTransactionType() == TransactionType.BUY && sagaState.isBalanceUpdated()) {
+            compensateBalanceUpdate(sagaState);
+        } else if (sagaState.getTransactionType() == TransactionType.SELL && sagaState.isAssetUpdated()) {
+            compensateAssetUpdate(sagaState);
         }
 
-        handleSagaFailure(event.getSagaId(), event.getTransactionId(), event.getFailureReason());
+        List<Outcome> outcomes = new ArrayList<>();
+        handleSagaFailure(sagaState, "Saga timed out waiting for a reply", outcomes);
+        applyOutcomes(outcomes);
     }
 
-    public void handleAssetUpdateFailed(AssetUpdateFailedEvent event) {
-        log.info("Handling asset update failed event for saga: {}", event.getSagaId());
-
-        TransactionSagaState sagaState = sagaStates.get(event.getSagaId());
-        if (sagaState == null) {
-            log.error("SAGA state not found for sagaId: {}", event.getSagaId());
+    // Holdings and outcome events only follow a status change that applied; a transaction that is no
+    // longer PENDING already has its outcome. Outcome events go out once the status is committed, so a
+    // replica reacting to the broadcast never reads the transaction still PENDING.
+    private void applyOutcomes(List<Outcome> outcomes) {
+        if (outcomes.isEmpty()) {
             return;
         }
+        List<StatusUpdate> statusUpdates = outcomes.stream().map(Outcome::toStatusUpdate).toList();
+        int[] updated = transactionRepository.updateStatuses(statusUpdates);
+
+        List<StatusUpdate> applied = new ArrayList<>(statusUpdates.size());
+        for (int i = 0; i < outcomes.size(); i++) {
+            Outcome outcome = outcomes.get(i);
+            TransactionSnapshot transaction = outcome.sagaState().getTransaction();
+            if (updated[i] == 0) {
+                log.warn("Transaction {} is no longer PENDING, dropping {} outcome of saga: {}",
+                        transaction.transactionId(), outcome.status(), outcome.sagaState().getSagaId());
+                continue;
+            }
+            applied.add(statusUpdates.get(i));
+
+            if (outcome.status() == TransactionStatus.COMPLETED) {
+                holdingService.applyCompletedTransaction(transaction.userId(), transaction.cryptoId(),
+                        transaction.transactionType(), transaction.quantity(), transaction.totalSpent());
+                TransactionCompletedEvent completedEvent = TransactionCompletedEvent.builder()
+                        .sagaId(outcome.sagaState().getSagaId())
+                        .transactionId(transaction.transactionId())
+                        .userId(transaction.userId())
+                        .build();
+                publishOutcomeAfterCommit(completedEvent.getSagaId(), () -> eventPublisher.publishTransactionCompleted(completedEvent));
+            } else {
+                TransactionFailedEvent failedEvent = TransactionFailedEvent.builder()
+                        .sagaId(outcome.sagaState().getSagaId())
+                        .transactionId(transaction.transactionId())
+                        .userId(transaction.userId())
+                        .failureReason(outcome.failureReason())
+                        .build();
+                publishOutcomeAfterCommit(failedEvent.getSagaId(), () -> eventPublisher.publishTransactionFailed(failedEvent));
+            }
+            publishStatusChanged(transaction, outcome.status(), outcome.failureReason());
+        }
+        transactionViewRepository.updateStatuses(applied);
+    }
 
-        // Only compensate if we've already updated balance (BUY transaction)
-        if (sagaState.getTransactionType() == TransactionType.BUY && sagaState.isBalanceUpdated()) {
-            compensateBalanceUpdate(event.getSagaId(), event.getTransactionId());
+    // The status is committed by then, so a redelivery would find the saga finished; a failed send is only logged
+    private void publishOutcomeAfterCommit(String sagaId, Runnable publish) {
+        AfterCommit.run(() -> {
+            try {
+                publish.run();
+            } catch (RuntimeException e) {
+                log.error("Failed to publish outcome of saga: {}", sagaId, e);
+            }
+        });
+    }
+
+    private TransactionSagaState getActiveSagaState(String sagaId) {
+        return getActiveSagaState(sagaId, sagaState -> log.info("Ignoring reply for timed-out saga: {}", sagaId));
+    }
+
+    /**
+     * @param onTimedOut called instead when the saga was already failed by a timeout
+     */
+    private TransactionSagaState getActiveSagaState(String sagaId, Consumer<TransactionSagaState> onTimedOut) {
+        TransactionSagaState sagaState = sagaStateStore.get(sagaId);
+        if (sagaState != null && sagaState.isTimedOut()) {
+            onTimedOut.accept(sagaState);
+            return null;
+        }
+        if (sagaState == null) {
+            log.error("SAGA state not found for sagaId: {}", sagaId);
+            sagaMetrics.stateNotFound();
+            return null;
+        }
+        // Finished here or on another instance, e.g. a stale timer firing after the saga completed elsewhere
+        if (sagaState.isCompleted()) {
+            log.info("Ignoring event for finished saga: {}", sagaId);
+            return null;
         }
 
-        handleSagaFailure(event.getSagaId(), event.getTransactionId(), event.getFailureReason());
+        // States persisted before snapshots (or their createdAt) were introduced need one lookup
+        if (sagaState.getTransaction() == null || sagaState.getTransaction().createdAt() == null) {
+            Transaction transaction = transactionRepository.findBySagaId(sagaId)
+                    .orElseThrow(() -> new TransactionNotFoundException("Transaction not found for sagaId: " + sagaId));
+            sagaState.setTransaction(TransactionSnapshot.of(transaction));
+            sagaStateStore.save(sagaState);
+        }
+        return sagaState;
     }
 
-    private void publishBalanceUpdate(Transaction transaction, TransactionType type) {
-        BalanceUpdateEvent balanceEvent = BalanceUpdateEvent.builder()
+    private TransactionSagaState newSagaState(Transaction transaction) {
+        return TransactionSagaState.builder()
                 .sagaId(transaction.getSagaId())
-                .transactionId(transaction.getId())
-                .userId(transaction.getUserId())
-                .amount(transaction.getTotalSpent())
-                .transactionType(type)
+                .transactionType(transaction.getTransactionType())
+                .balanceUpdated(false)
+                .assetUpdated(false)
+                .completed(false)
+                .transaction(TransactionSnapshot.of(transaction))
+                .startedAt(Instant.now())
                 .build();
-
-        eventPublisher.publishBalanceUpdate(balanceEvent);
     }
 
-    private void publishAssetUpdate(Transaction transaction, TransactionType type) {
-        AssetUpdateEvent assetEvent = AssetUpdateEvent.builder()
-                .sagaId(transaction.getSagaId())
-                .transactionId(transaction.getId())
-                .userId(transaction.getUserId())
-                .cryptoId(transaction.getCryptoId())
-                .quantity(transaction.getQuantity())
+    private BalanceUpdateEvent buildBalanceUpdate(TransactionSagaState sagaState, TransactionType type) {
+        TransactionSnapshot transaction = sagaState.getTransaction();
+        return BalanceUpdateEvent.builder()
+                .sagaId(sagaState.getSagaId())
+                .transactionId(transaction.transactionId())
+                .userId(transaction.userId())
+                .amount(transaction.totalSpent())
                 .transactionType(type)
                 .build();
-
-        eventPublisher.publishAssetUpdate(assetEvent);
     }
 
-    private void handleSagaCompletion(String sagaId, java.util.UUID transactionId) {
-        log.info("Completing SAGA for transaction: {}", transactionId);
-
-        // Update transaction status
-        transactionRepository.findById(transactionId).ifPresent(transaction -> {
-            transaction.setStatus(TransactionStatus.COMPLETED);
-            transactionRepository.save(transaction);
-        });
-
-        // Publish completion event
-        TransactionCompletedEvent completedEvent = TransactionCompletedEvent.builder()
-                .sagaId(sagaId)
-                .transactionId(transactionId)
+    private AssetUpdateEvent buildAssetUpdate(TransactionSagaState sagaState, TransactionType type) {
+        TransactionSnapshot transaction = sagaState.getTransaction();
+        return AssetUpdateEvent.builder()
+                .sagaId(sagaState.getSagaId())
+                .transactionId(transaction.transactionId())
+                .userId(transaction.userId())
+                .cryptoId(transaction.cryptoId())
+                .quantity(transaction.quantity())
+                .transactionType(type)
                 .build();
+    }
+
+    private void handleSagaCompletion(TransactionSagaState sagaState, List<Outcome> outcomes) {
+        log.info("Completing SAGA for transaction: {}", sagaState.getTransaction().transactionId());
 
-        eventPublisher.publishTransactionCompleted(completedEvent);
+        // Status, the user's position and the completion event are applied with the rest of the batch
+        sagaState.setCompleted(true);
+        sagaMetrics.recordStep(SagaMetrics.Step.COMPLETED, sagaState);
+        outcomes.add(new Outcome(sagaState, TransactionStatus.COMPLETED, null));
 
-        // Cleanup saga state
-        sagaStates.remove(sagaId);
+        finishSaga(sagaState);
     }
 
-    private void handleSagaFailure(String sagaId, java.util.UUID transactionId, String failureReason) {
-        log.info("Failing SAGA for transaction: {} with reason: {}", transactionId, failureReason);
+    private void handleSagaFailure(TransactionSagaState sagaState, String failureReason, List<Outcome> outcomes) {
+        log.info("Failing SAGA for transaction: {} with reason: {}", sagaState.getTransaction().transactionId(), failureReason);
 
-        // Update transaction status
-        transactionRepository.findById(transactionId).ifPresent(transaction -> {
-            transaction.setStatus(TransactionStatus.FAILED);
-            transaction.setFailureReason(failureReason);
-            transactionRepository.save(transaction);
-        });
+        sagaState.setCompleted(true);
+        sagaMetrics.recordStep(SagaMetrics.Step.FAILED, sagaState);
+        sagaState.setFailureReason(failureReason);
+        outcomes.add(new Outcome(sagaState, TransactionStatus.FAILED, failureReason));
 
-        // Publish failure event
-        TransactionFailedEvent failedEvent = TransactionFailedEvent.builder()
-                .sagaId(sagaId)
-                .transactionId(transactionId)
-                .failureReason(failureReason)
-                .build();
+        finishSaga(sagaState);
+    }
 
-        eventPublisher.publishTransactionFailed(failedEvent);
+    // The completed state stays behind, so a stale writer or timer elsewhere finds the saga finished
+    private void finishSaga(TransactionSagaState sagaState) {
+        sagaTimeoutScheduler.cancel(sagaState.getSagaId());
+        sagaStateStore.save(sagaState);
+    }
 
-        // Cleanup saga state
-        sagaStates.remove(sagaId);
+    // The balance moved after the saga had already failed; the step flag records that it was reversed
+    private void compensateLateBalanceUpdate(TransactionSagaState sagaState) {
+        if (sagaState.isBalanceUpdated()) {
+            log.warn("Ignoring duplicate balance updated event for timed-out saga: {}", sagaState.getSagaId());
+            return;
+        }
+        log.warn("Balance updated after saga {} timed out, compensating", sagaState.getSagaId());
+        sagaState.setBalanceUpdated(true);
+        compensateBalanceUpdate(sagaState);
+        sagaStateStore.save(sagaState);
     }
 
-    private void compensateBalanceUpdate(String sagaId, java.util.UUID transactionId) {
-        log.info("Compensating balance update for transaction: {}", transactionId);
+    private void compensateLateAssetUpdate(TransactionSagaState sagaState) {
+        if (sagaState.isAssetUpdated()) {
+            log.warn("Ignoring duplicate asset updated event for timed-out saga: {}", sagaState.getSagaId());
+            return;
+        }
+        log.warn("Asset updated after saga {} timed out, compensating", sagaState.getSagaId());
+        sagaState.setAssetUpdated(true);
+        compensateAssetUpdate(sagaState);
+        sagaStateStore.save(sagaState);
+    }
+
+    private void publishStatusChanged(TransactionSnapshot transaction, TransactionStatus status, String failureReason) {
+        applicationEventPublisher.publishEvent(TransactionStatusChangedEvent.builder()
+                .transactionId(transaction.transactionId())
+                .userId(transaction.userId())
+                .status(status)
+                .failureReason(failureReason)
+                .build());
+    }
 
-        Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found: " + transactionId));
+    private void compensateBalanceUpdate(TransactionSagaState sagaState) {
+        TransactionSnapshot transaction = sagaState.getTransaction();
+        log.info("Compensating balance update for transaction: {}", transaction.transactionId());
+        sagaMetrics.balanceCompensated();
 
         // Reverse the balance update
-        TransactionType reverseType = transaction.getTransactionType() == TransactionType.BUY ?
+        TransactionType reverseType = transaction.transactionType() == TransactionType.BUY ?
                 TransactionType.SELL : TransactionType.BUY;
 
         BalanceUpdateEvent compensationEvent = BalanceUpdateEvent.builder()
-                .sagaId(sagaId)
-                .transactionId(transactionId)
-                .userId(transaction.getUserId())
-                .amount(transaction.getTotalSpent())
+                .sagaId(sagaState.getSagaId())
+                .transactionId(transaction.transactionId())
+                .userId(transaction.userId())
+                .amount(transaction.totalSpent())
                 .transactionType(reverseType)
                 .isCompensation(true)  // Add this field to your event if needed
                 .build();
@@ -215,26 +441,34 @@ public class TransactionSagaOrchestratorImpl implements TransactionSagaOrchestra
         eventPublisher.publishBalanceUpdate(compensationEvent);
     }
 
-    private void compensateAssetUpdate(String sagaId, java.util.UUID transactionId) {
-        log.info("Compensating asset update for transaction: {}", transactionId);
-
-        Transaction transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found: " + transactionId));
+    private void compensateAssetUpdate(TransactionSagaState sagaState) {
+        TransactionSnapshot transaction = sagaState.getTransaction();
+        log.info("Compensating asset update for transaction: {}", transaction.transactionId());
+        sagaMetrics.assetCompensated();
 
         // Reverse the asset update
-        TransactionType reverseType = transaction.getTransactionType() == TransactionType.BUY ?
+        TransactionType reverseType = transaction.transactionType() == TransactionType.BUY ?
                 TransactionType.SELL : TransactionType.BUY;
 
         AssetUpdateEvent compensationEvent = AssetUpdateEvent.builder()
-                .sagaId(sagaId)
-                .transactionId(transactionId)
-                .userId(transaction.getUserId())
-                .cryptoId(transaction.getCryptoId())
-                .quantity(transaction.getQuantity())
+                .sagaId(sagaState.getSagaId())
+                .transactionId(transaction.transactionId())
+                .userId(transaction.userId())
+                .cryptoId(transaction.cryptoId())
+                .quantity(transaction.quantity())
                 .transactionType(reverseType)
                 .isCompensation(true)  // Add this field to your event if needed
                 .build();
 
         eventPublisher.publishAssetUpdate(compensationEvent);
     }
-}
\ No newline at end of file
+
+    private record Outcome(TransactionSagaState sagaState, TransactionStatus status, String failureReason) {
+
+        StatusUpdate toStatusUpdate() {
+            TransactionSnapshot transaction = sagaState.getTransaction();
+            return new StatusUpdate(transaction.transactionId(), transaction.userId(), transaction.createdAt(),
+                    status, failureReason);
+        }
+    }
+}
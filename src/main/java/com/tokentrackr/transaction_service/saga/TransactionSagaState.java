@@ -4,13 +4,19 @@ import com.tokentrackr.transaction_service.enums.TransactionType;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.Instant;
+
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class TransactionSagaState {
     private String sagaId;
     private boolean balanceUpdated;
     private boolean assetUpdated;
     private boolean completed;
+    // Failed by a timeout and kept as a tombstone; the step flags then mark steps that were compensated
+    private boolean timedOut;
     private TransactionType transactionType;
     private String failureReason;
+    private TransactionSnapshot transaction;
+    private Instant startedAt;
 }
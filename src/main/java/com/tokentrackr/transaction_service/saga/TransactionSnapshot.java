@@ -0,0 +1,35 @@
+package com.tokentrackr.transaction_service.saga;
+
+import com.tokentrackr.transaction_service.entity.Transaction;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The command fields of a transaction. They never change after creation,
+ * so saga steps publish from this snapshot instead of reloading the row.
+ * {@code createdAt} completes the partitioned primary key for status updates.
+ */
+public record TransactionSnapshot(UUID transactionId,
+                                  String userId,
+                                  String cryptoId,
+                                  TransactionType transactionType,
+                                  Quantity quantity,
+                                  Money totalSpent,
+                                  LocalDateTime createdAt) {
+
+    public static TransactionSnapshot of(Transaction transaction) {
+        return new TransactionSnapshot(
+                transaction.getId(),
+                transaction.getUserId(),
+                transaction.getCryptoId(),
+                transaction.getTransactionType(),
+                transaction.getQuantity(),
+                transaction.getTotalSpent(),
+                transaction.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,111 @@
+package com.tokentrackr.transaction_service.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tokentrackr.transaction_service.exception.TooManyRequestsException;
+import com.tokentrackr.transaction_service.saga.ActiveSagaCount;
+import com.tokentrackr.transaction_service.service.interfaces.AdmissionService;
+import com.tokentrackr.transaction_service.util.SecurityUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control for new sagas, checked before any database work.
+ * <p>
+ * A global limit caps the unfinished sagas in the saga state store, so with a shared store it holds across
+ * instances, and a saga stops counting once any instance finishes it. Each user additionally has a token bucket, kept as a single theoretical arrival time
+ * (GCRA) and updated with compare-and-set, so admission takes no locks.
+ */
+@Service
+@Slf4j
+public class AdmissionServiceImpl implements AdmissionService {
+
+    private final ActiveSagaCount activeSagaCount;
+    private final int maxInFlightSagas;
+    private final long inFlightRetryAfterSeconds;
+    private final int userBurst;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final Cache<String, AtomicLong> userBuckets;
+    private final Counter inFlightRejections;
+    private final Counter userRateRejections;
+
+    public AdmissionServiceImpl(ActiveSagaCount activeSagaCount,
+                                MeterRegistry meterRegistry,
+                                @Value("${admission.max-in-flight-sagas:5000}") int maxInFlightSagas,
+                                @Value("${admission.in-flight-retry-after-seconds:1}") long inFlightRetryAfterSeconds,
+                                @Value("${admission.user.rate-per-second:50}") double userRatePerSecond,
+                                @Value("${admission.user.burst:500}") int userBurst,
+                                @Value("${admission.user.max-tracked:100000}") long maxTrackedUsers) {
+        this.activeSagaCount = activeSagaCount;
+        this.maxInFlightSagas = maxInFlightSagas;
+        this.inFlightRetryAfterSeconds = inFlightRetryAfterSeconds;
+        this.userBurst = userBurst;
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / userRatePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * userBurst;
+        // A bucket left alone for the burst window is full again, so dropping it loses nothing
+        this.userBuckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedUsers)
+                .expireAfterAccess(Duration.ofNanos(burstToleranceNanos))
+                .build();
+        this.inFlightRejections = rejectionCounter(meterRegistry, "in_flight");
+        this.userRateRejections = rejectionCounter(meterRegistry, "user_rate");
+    }
+
+    @Override
+    public void admit(int transactions) {
+        String userId = SecurityUtil.getCurrentUserId();
+        if (transactions > userBurst) {
+            throw new IllegalArgumentException("At most " + userBurst + " transactions can be submitted at once");
+        }
+
+        // Checked against a periodically refreshed count without reserving, so the limit may be overshot by
+        // what all instances admit within one refresh interval
+        if (activeSagaCount.get() + transactions > maxInFlightSagas) {
+            inFlightRejections.increment();
+            log.warn("Rejecting {} transactions for user: {}, too many sagas in flight", transactions, userId);
+            throw new TooManyRequestsException("Too many transactions in progress, try again shortly",
+                    inFlightRetryAfterSeconds);
+        }
+
+        long retryAfterNanos = acquire(userBuckets.get(userId, id -> new AtomicLong(Long.MIN_VALUE)), transactions);
+        if (retryAfterNanos > 0) {
+            userRateRejections.increment();
+            log.warn("Rejecting {} transactions for user: {}, rate limit exceeded", transactions, userId);
+            throw new TooManyRequestsException("Transaction rate limit exceeded",
+                    Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+        }
+    }
+
+    // Returns 0 when admitted, otherwise the nanoseconds until the request would conform
+    private long acquire(AtomicLong theoreticalArrival, int transactions) {
+        long increment = emissionIntervalNanos * transactions;
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrival.get();
+            // nanoTime values are only compared by difference
+            long next = (current == Long.MIN_VALUE || current - now < 0 ? now : current) + increment;
+            long allowedAt = next - burstToleranceNanos;
+            if (allowedAt - now > 0) {
+                return allowedAt - now;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("admission.rejected")
+                .description("Transaction creations rejected by admission control")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
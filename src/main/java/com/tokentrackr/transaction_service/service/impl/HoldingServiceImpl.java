@@ -0,0 +1,72 @@
+package com.tokentrackr.transaction_service.service.impl;
+import com.tokentrackr.transaction_service.dto.response.HoldingResponse;
+import com.tokentrackr.transaction_service.entity.Holding;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+import com.tokentrackr.transaction_service.repository.HoldingRepository;
+import com.tokentrackr.transaction_service.service.interfaces.HoldingService;
+import com.tokentrackr.transaction_service.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HoldingServiceImpl implements HoldingService {
+
+    private final HoldingRepository holdingRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HoldingResponse> getUserHoldings() {
+        String userId = SecurityUtil.getCurrentUserId();
+        log.info("Fetching holdings for user: {}", userId);
+
+        return holdingRepository.findByUserIdOrderByCryptoId(userId).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void applyCompletedTransaction(String userId, String cryptoId, TransactionType transactionType,
+                                          Quantity quantity, Money totalSpent) {
+        log.info("Applying completed {} of {} {} to holdings of user: {}", transactionType, quantity, cryptoId, userId);
+
+        if (transactionType == TransactionType.BUY) {
+            holdingRepository.applyBuy(userId, cryptoId, quantity.toBigDecimal(), totalSpent.toBigDecimal());
+        } else {
+            holdingRepository.applySell(userId, cryptoId, quantity.toBigDecimal(), totalSpent.toBigDecimal());
+        }
+    }
+
+    // A removed transaction cannot be subtracted: later sells booked realized P&L at an average cost that included it
+    @Override
+    @Transactional
+    public void recomputeHolding(String userId, String cryptoId) {
+        int replayed = holdingRepository.recompute(userId, cryptoId);
+        log.info("Recomputed holding of {} for user: {} from {} completed transactions", cryptoId, userId, replayed);
+    }
+
+    private HoldingResponse toResponse(Holding holding) {
+        BigDecimal averagePrice = holding.getQuantity().signum() > 0
+                ? holding.getTotalCost().divide(holding.getQuantity(), 8, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+
+        return HoldingResponse.builder()
+                .cryptoId(holding.getCryptoId())
+                .quantity(holding.getQuantity())
+                .totalCost(holding.getTotalCost())
+                .averagePrice(averagePrice)
+                .realizedPnl(holding.getRealizedPnl())
+                .updatedAt(holding.getUpdatedAt())
+                .build();
+    }
+}
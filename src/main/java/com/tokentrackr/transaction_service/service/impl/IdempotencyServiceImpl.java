@@ -0,0 +1,94 @@
+package com.tokentrackr.transaction_service.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.tokentrackr.transaction_service.config.CacheConfig.IdempotencyCacheKey;
+import com.tokentrackr.transaction_service.dto.response.TransactionResponse;
+import com.tokentrackr.transaction_service.entity.IdempotencyKey;
+import com.tokentrackr.transaction_service.entity.IdempotencyKeyId;
+import com.tokentrackr.transaction_service.exception.TransactionNotFoundException;
+import com.tokentrackr.transaction_service.mapper.TransactionMapper;
+import com.tokentrackr.transaction_service.repository.IdempotencyKeyRepository;
+import com.tokentrackr.transaction_service.repository.TransactionViewRepository;
+import com.tokentrackr.transaction_service.service.interfaces.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Deduplicates create requests by Idempotency-Key.
+ * <p>
+ * The primary key on idempotency_keys is the source of truth; a bounded in-memory cache of
+ * recently completed keys answers most retries without touching the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionViewRepository transactionViewRepository;
+    private final TransactionMapper transactionMapper;
+    private final Cache<IdempotencyCacheKey, TransactionResponse> idempotencyCache;
+
+    @Value("${idempotency.retention-hours:24}")
+    private long retentionHours;
+
+    @Override
+    public Optional<TransactionResponse> findCached(String userId, String idempotencyKey) {
+        return Optional.ofNullable(idempotencyCache.getIfPresent(new IdempotencyCacheKey(userId, idempotencyKey)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean claim(String userId, String idempotencyKey) {
+        return idempotencyKeyRepository.claim(userId, idempotencyKey) == 1;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionResponse loadExisting(String userId, String idempotencyKey) {
+        UUID transactionId = idempotencyKeyRepository.findById(new IdempotencyKeyId(userId, idempotencyKey))
+                .map(IdempotencyKey::getTransactionId)
+                .orElseThrow(() -> new IllegalStateException("Idempotency-Key is not registered: " + idempotencyKey));
+
+        TransactionResponse response = transactionViewRepository.findByUserIdAndId(userId, transactionId)
+                .map(transactionMapper::toResponse)
+                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + transactionId));
+
+        idempotencyCache.put(new IdempotencyCacheKey(userId, idempotencyKey), response);
+        return response;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(String userId, String idempotencyKey, TransactionResponse response) {
+        idempotencyKeyRepository.assignTransaction(userId, idempotencyKey, response.getId());
+
+        // Only cache once the key and the transaction are durable together
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idempotencyCache.put(new IdempotencyCacheKey(userId, idempotencyKey), response);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpiredKeys() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.tokentrackr.transaction_service.service.impl;
+
+import com.tokentrackr.transaction_service.dto.events.TransactionStatusChangedEvent;
+import com.tokentrackr.transaction_service.dto.response.TransactionResponse;
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Long-poll requests parked until their transaction leaves PENDING.
+ * <p>
+ * A waiter is just a {@link DeferredResult} in a map, so no request thread is held while waiting.
+ * Waiters are completed by {@link TransactionStatusChangedEvent}: after commit for sagas finishing
+ * on this instance, and through the outcome broadcast for sagas finishing on other replicas.
+ * A waiter that times out answers with the transaction as it was when the request arrived.
+ */
+@Component
+@Slf4j
+public class TransactionCompletionWaiters {
+
+    private final Map<UUID, List<Waiter>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    @Value("${transactions.await.max-waiters:10000}")
+    private int maxWaiters;
+
+    /**
+     * Parks a request until {@code transactionId} leaves PENDING. The waiter is registered before
+     * {@code currentState} is read, so an outcome committed in between cannot be missed. Transactions
+     * that are already final, and requests beyond {@code max-waiters}, are answered right away.
+     */
+    public DeferredResult<TransactionResponse> await(UUID transactionId, long timeoutMs,
+                                                     Supplier<TransactionResponse> currentState) {
+        if (waiterCount.incrementAndGet() > maxWaiters) {
+            waiterCount.decrementAndGet();
+            DeferredResult<TransactionResponse> result = new DeferredResult<>();
+            result.setResult(currentState.get());
+            return result;
+        }
+
+        Waiter waiter = new Waiter(new DeferredResult<>(timeoutMs));
+        waiter.result.onTimeout(waiter::expire);
+        waiter.result.onCompletion(() -> remove(transactionId, waiter));
+        waiters.compute(transactionId, (id, list) -> {
+            List<Waiter> updated = list == null ? new ArrayList<>(1) : new ArrayList<>(list);
+            updated.add(waiter);
+            return updated;
+        });
+
+        TransactionResponse current;
+        try {
+            current = currentState.get();
+        } catch (RuntimeException e) {
+            remove(transactionId, waiter);
+            throw e;
+        }
+
+        if (current.getStatus() != TransactionStatus.PENDING) {
+            remove(transactionId, waiter);
+            waiter.result.setResult(current);
+        } else {
+            waiter.arm(current);
+        }
+        return waiter.result;
+    }
+
+    public int size() {
+        return waiterCount.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionStatusChanged(TransactionStatusChangedEvent event) {
+        complete(event.getTransactionId(), event.getStatus(), event.getFailureReason());
+    }
+
+    private void complete(UUID transactionId, TransactionStatus status, String failureReason) {
+        List<Waiter> list = waiters.get(transactionId);
+        if (list == null) {
+            return;
+        }
+        LocalDateTime updatedAt = LocalDateTime.now();
+        for (Waiter waiter : list) {
+            waiter.complete(status, failureReason, updatedAt);
+        }
+    }
+
+    private void remove(UUID transactionId, Waiter waiter) {
+        if (!waiter.removed.compareAndSet(false, true)) {
+            return;
+        }
+        waiterCount.decrementAndGet();
+        waiters.computeIfPresent(transactionId, (id, list) -> {
+            List<Waiter> updated = new ArrayList<>(list);
+            updated.remove(waiter);
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    private static final class Waiter {
+        final DeferredResult<TransactionResponse> result;
+        final AtomicBoolean removed = new AtomicBoolean();
+        private TransactionResponse pending;
+        private TransactionResponse outcome;
+
+        Waiter(DeferredResult<TransactionResponse> result) {
+            this.result = result;
+        }
+
+        synchronized void arm(TransactionResponse pending) {
+            this.pending = pending;
+            if (outcome != null) {
+                result.setResult(merge(pending, outcome));
+            }
+        }
+
+        synchronized void complete(TransactionStatus status, String failureReason, LocalDateTime updatedAt) {
+            outcome = TransactionResponse.builder()
+                    .status(status)
+                    .failureReason(failureReason)
+                    .updatedAt(updatedAt)
+                    .build();
+            if (pending != null) {
+                result.setResult(merge(pending, outcome));
+            }
+        }
+
+        synchronized void expire() {
+            if (pending != null) {
+                result.setResult(pending);
+            }
+        }
+
+        private static TransactionResponse merge(TransactionResponse pending, TransactionResponse outcome) {
+            return pending.toBuilder()
+                    .status(outcome.getStatus())
+                    .failureReason(outcome.getFailureReason())
+                    .updatedAt(outcome.getUpdatedAt())
+                    .build();
+        }
+    }
+}
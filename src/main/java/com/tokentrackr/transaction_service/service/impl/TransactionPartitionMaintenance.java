@@ -0,0 +1,151 @@
+package com.tokentrackr.transaction_service.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code transactions} in shape.
+ * <p>
+ * Partitions are created {@code premake-months} ahead so inserts never miss one. Partitions that ended
+ * more than {@code retention-months} ago are detached concurrently, so the parent table stays available,
+ * and moved to the {@code transactions_archive} schema, optionally onto a cold tablespace. Their rows leave
+ * the {@code transaction_views} read model at the same time. Replicas
+ * coordinate through an advisory lock; only one of them runs the job at a time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionPartitionMaintenance {
+
+    private static final long ADVISORY_LOCK_KEY = 0x7472616e73L;
+    private static final String ARCHIVE_SCHEMA = "transactions_archive";
+    private static final Pattern PARTITION_NAME = Pattern.compile("transactions_p(\\d{4})_(\\d{2})");
+
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i " +
+            "JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'transactions'::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${transactions.partitioning.premake-months:3}")
+    private int premakeMonths;
+
+    @Value("${transactions.partitioning.retention-months:24}")
+    private int retentionMonths;
+
+    @Value("${transactions.partitioning.archive-tablespace:}")
+    private String archiveTablespace;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${transactions.partitioning.cron:0 15 3 * * *}")
+    public void maintain() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!tryLock(connection)) {
+                log.info("Partition maintenance is running elsewhere, skipping");
+                return null;
+            }
+            try {
+                createUpcomingPartitions(connection);
+                archiveExpiredPartitions(connection);
+            } finally {
+                unlock(connection);
+            }
+            return null;
+        });
+    }
+
+    private void createUpcomingPartitions(Connection connection) throws SQLException {
+        YearMonth current = YearMonth.now();
+        try (PreparedStatement ps = connection.prepareStatement("SELECT create_transactions_partition(?)")) {
+            for (int i = 0; i <= premakeMonths; i++) {
+                ps.setObject(1, current.plusMonths(i).atDay(1));
+                ps.execute();
+            }
+        }
+    }
+
+    private void archiveExpiredPartitions(Connection connection) throws SQLException {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        // A partition expires once its whole month lies before the cutoff
+        LocalDate cutoff = YearMonth.now().minusMonths(retentionMonths).atDay(1);
+
+        List<String> expired = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LIST_PARTITIONS_SQL)) {
+            while (rs.next()) {
+                String name = rs.getString(1);
+                Matcher matcher = PARTITION_NAME.matcher(name);
+                if (matcher.matches()) {
+                    YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                    if (!month.plusMonths(1).atDay(1).isAfter(cutoff)) {
+                        expired.add(name);
+                    }
+                }
+            }
+        }
+
+        for (String partition : expired) {
+            try (Statement statement = connection.createStatement()) {
+                // First, so a failed detach is retried with the read model already matching the archive
+                int views = statement.executeUpdate("DELETE FROM transaction_views v USING " + partition + " t " +
+                        "WHERE v.user_id = t.user_id AND v.id = t.id");
+                // CONCURRENTLY only needs a SHARE UPDATE EXCLUSIVE lock on the parent, so it must run outside a transaction
+                statement.execute("ALTER TABLE transactions DETACH PARTITION " + partition + " CONCURRENTLY");
+                statement.execute("ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+                if (!archiveTablespace.isBlank()) {
+                    statement.execute("ALTER TABLE " + ARCHIVE_SCHEMA + "." + partition +
+                            " SET TABLESPACE " + quoteIdentifier(archiveTablespace));
+                }
+                log.info("Archived transactions partition {} to {}, removing {} read model rows", partition, ARCHIVE_SCHEMA, views);
+            } catch (SQLException e) {
+                log.error("Failed to archive transactions partition {}", partition, e);
+            }
+        }
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            ps.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            ps.setLong(1, ADVISORY_LOCK_KEY);
+            ps.execute();
+        }
+    }
+
+    private static String quoteIdentifier(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
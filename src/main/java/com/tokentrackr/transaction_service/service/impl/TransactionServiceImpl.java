@@ -1,51 +1,133 @@
 package com.tokentrackr.transaction_service.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.tokentrackr.transaction_service.config.CacheConfig.TransactionKey;
 import com.tokentrackr.transaction_service.dto.request.CreateTransactionRequest;
+import com.tokentrackr.transaction_service.dto.events.TransactionStatusChangedEvent;
+import com.tokentrackr.transaction_service.dto.response.BatchItemResult;
+import com.tokentrackr.transaction_service.dto.response.BatchTransactionResponse;
 import com.tokentrackr.transaction_service.dto.response.TransactionResponse;
+import com.tokentrackr.transaction_service.dto.response.TransactionSliceResponse;
 import com.tokentrackr.transaction_service.entity.Transaction;
+import com.tokentrackr.transaction_service.entity.TransactionView;
+import com.tokentrackr.transaction_service.enums.BatchItemStatus;
+import com.tokentrackr.transaction_service.enums.ExportFormat;
 import com.tokentrackr.transaction_service.enums.TransactionStatus;
 import com.tokentrackr.transaction_service.exception.TransactionNotFoundException;
+import com.tokentrackr.transaction_service.fixedpoint.FixedPoint;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Price;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
 import com.tokentrackr.transaction_service.mapper.TransactionMapper;
 import com.tokentrackr.transaction_service.repository.TransactionRepository;
+import com.tokentrackr.transaction_service.repository.TransactionViewRepository;
 import com.tokentrackr.transaction_service.saga.TransactionSagaOrchestrator;
+import com.tokentrackr.transaction_service.service.interfaces.HoldingService;
+import com.tokentrackr.transaction_service.service.interfaces.IdempotencyService;
 import com.tokentrackr.transaction_service.service.interfaces.TransactionService;
+import com.tokentrackr.transaction_service.util.CursorUtil;
 import com.tokentrackr.transaction_service.util.SecurityUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Commands write to {@code transactions}; every query is served from the {@code transaction_views}
+ * read model, which is written in the same database transactions as the rows it mirrors.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TransactionServiceImpl implements TransactionService {
 
+    private static final String CSV_HEADER =
+            "id,cryptoId,transactionType,quantity,totalSpent,pricePerCoin,status,createdAt,updatedAt,failureReason\n";
+
     private final TransactionRepository transactionRepository;
+    private final TransactionViewRepository transactionViewRepository;
     private final TransactionMapper transactionMapper;
     private final TransactionSagaOrchestrator sagaOrchestrator;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final Cache<TransactionKey, TransactionResponse> transactionByIdCache;
+    private final IdempotencyService idempotencyService;
+    private final HoldingService holdingService;
+    private final TransactionCompletionWaiters completionWaiters;
+    private final TransactionStatusStreams statusStreams;
+
+    @Value("${transactions.export.fetch-size:500}")
+    private int exportFetchSize;
 
     @Override
     @Transactional
-    public TransactionResponse createTransaction(CreateTransactionRequest request) {
+    public TransactionResponse createTransaction(CreateTransactionRequest request, String idempotencyKey) {
         String userId = SecurityUtil.getCurrentUserId();
-        log.info("Creating transaction for user: {}", userId);
+        if (idempotencyKey == null) {
+            return insertTransaction(request, userId);
+        }
 
-        Transaction transaction = Transaction.builder()
-                .cryptoId(request.getCryptoId())
-                .userId(userId)
-                .transactionType(request.getTransactionType())
-                .quantity(request.getQuantity())
-                .totalSpent(request.getTotalSpent())
-                .pricePerCoin(request.getPricePerCoin())
-                .status(TransactionStatus.PENDING)
-                .sagaId(UUID.randomUUID().toString())
-                .build();
+        Optional<TransactionResponse> cached = idempotencyService.findCached(userId, idempotencyKey);
+        if (cached.isPresent()) {
+            log.info("Replaying transaction {} for Idempotency-Key {}", cached.get().getId(), idempotencyKey);
+            return cached.get();
+        }
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
+        if (!idempotencyService.claim(userId, idempotencyKey)) {
+            log.info("Idempotency-Key {} already used by user: {}", idempotencyKey, userId);
+            return idempotencyService.loadExisting(userId, idempotencyKey);
+        }
+
+        TransactionResponse response = insertTransaction(request, userId);
+        idempotencyService.complete(userId, idempotencyKey, response);
+        return response;
+    }
+
+    // Answered from the cache of completed keys only, without touching the database
+    @Override
+    public Optional<TransactionResponse> findReplay(String idempotencyKey) {
+        Optional<TransactionResponse> cached = idempotencyService.findCached(SecurityUtil.getCurrentUserId(), idempotencyKey);
+        cached.ifPresent(response -> log.info("Replaying transaction {} for Idempotency-Key {}", response.getId(), idempotencyKey));
+        return cached;
+    }
+
+    private TransactionResponse insertTransaction(CreateTransactionRequest request, String userId) {
+        log.info("Creating transaction for user: {}", userId);
+
+        Transaction savedTransaction = transactionRepository.save(newTransaction(request, userId));
+        transactionViewRepository.insertAll(List.of(savedTransaction));
         log.info("Transaction created with ID: {}", savedTransaction.getId());
 
         // Start SAGA orchestration
@@ -54,26 +136,121 @@ public class TransactionServiceImpl implements TransactionService {
         return transactionMapper.toResponse(savedTransaction);
     }
 
+    @Override
+    @Transactional
+    public BatchTransactionResponse createTransactions(List<CreateTransactionRequest> requests) {
+        String userId = SecurityUtil.getCurrentUserId();
+        log.info("Creating batch of {} transactions for user: {}", requests.size(), userId);
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String, String> errors = validate(requests.get(i));
+            if (errors.isEmpty()) {
+                acceptedIndexes.add(i);
+                transactions.add(newTransaction(requests.get(i), userId));
+            } else {
+                results[i] = BatchItemResult.builder()
+                        .index(i)
+                        .status(BatchItemStatus.REJECTED)
+                        .validationErrors(errors)
+                        .build();
+            }
+        }
+
+        // Inserted with JDBC batching (hibernate.jdbc.batch_size), saga commands go out as one outbox batch
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+        transactionViewRepository.insertAll(savedTransactions);
+        sagaOrchestrator.startTransactionSagas(savedTransactions);
+
+        for (int i = 0; i < savedTransactions.size(); i++) {
+            int index = acceptedIndexes.get(i);
+            results[index] = BatchItemResult.builder()
+                    .index(index)
+                    .status(BatchItemStatus.CREATED)
+                    .transaction(transactionMapper.toResponse(savedTransactions.get(i)))
+                    .build();
+        }
+
+        log.info("Batch created {} transactions, rejected {}", savedTransactions.size(),
+                requests.size() - savedTransactions.size());
+
+        return BatchTransactionResponse.builder()
+                .created(savedTransactions.size())
+                .rejected(requests.size() - savedTransactions.size())
+                .results(List.of(results))
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<TransactionResponse> getUserTransactions(Pageable pageable) {
         String userId = SecurityUtil.getCurrentUserId();
         log.info("Fetching transactions for user: {}", userId);
 
-        Page<Transaction> transactions = transactionRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        Page<TransactionView> transactions = transactionViewRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
         return transactions.map(transactionMapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionSliceResponse getUserTransactionsByCursor(String cursor, int size) {
+        String userId = SecurityUtil.getCurrentUserId();
+        log.info("Fetching transactions for user: {} after cursor: {}", userId, cursor);
+
+        // Fetch one extra row to learn whether another slice follows
+        List<TransactionView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionViewRepository.findLatestByUserId(userId, size + 1);
+        } else {
+            CursorUtil.Cursor position = CursorUtil.decode(cursor);
+            rows = transactionViewRepository.findByUserIdBeforeCursor(userId, position.createdAt(), position.id(), size + 1);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<TransactionView> content = hasNext ? rows.subList(0, size) : rows;
+        Slice<TransactionResponse> slice = new SliceImpl<>(content, PageRequest.of(0, size), hasNext)
+                .map(transactionMapper::toResponse);
+
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionView last = content.get(content.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return TransactionSliceResponse.builder()
+                .content(slice.getContent())
+                .size(slice.getNumberOfElements())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public TransactionResponse getTransactionById(UUID id) {
         String userId = SecurityUtil.getCurrentUserId();
         log.info("Fetching transaction {} for user: {}", id, userId);
 
-        Transaction transaction = transactionRepository.findByIdAndUserId(id, userId)
-                .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + id));
+        // Loads are atomic per key, so an eviction racing a load always wins
+        return transactionByIdCache.get(new TransactionKey(id, userId), key ->
+                transactionViewRepository.findByUserIdAndId(key.userId(), key.id())
+                        .map(transactionMapper::toResponse)
+                        .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + id)));
+    }
+
+    // Bypasses the by-id cache: the waiter must see the committed state, not an entry awaiting eviction
+    @Override
+    public DeferredResult<TransactionResponse> awaitTransaction(UUID id, long timeoutMs) {
+        String userId = SecurityUtil.getCurrentUserId();
+        log.info("Awaiting transaction {} for user: {} for up to {} ms", id, userId, timeoutMs);
 
-        return transactionMapper.toResponse(transaction);
+        return completionWaiters.await(id, timeoutMs, () ->
+                transactionViewRepository.findByUserIdAndId(userId, id)
+                        .map(transactionMapper::toResponse)
+                        .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with id: " + id)));
     }
 
     @Override
@@ -90,18 +267,136 @@ public class TransactionServiceImpl implements TransactionService {
         }
 
         transactionRepository.delete(transaction);
+        transactionViewRepository.deleteByUserIdAndId(userId, id);
+        // Failed transactions never touched holdings
+        if (transaction.getStatus() == TransactionStatus.COMPLETED) {
+            holdingService.recomputeHolding(userId, transaction.getCryptoId());
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                transactionByIdCache.invalidate(new TransactionKey(id, userId));
+            }
+        });
         log.info("Transaction {} deleted successfully", id);
     }
 
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionStatusChanged(TransactionStatusChangedEvent event) {
+        transactionByIdCache.invalidate(new TransactionKey(event.getTransactionId(), event.getUserId()));
+    }
+
+    @Override
+    public StreamingResponseBody exportUserTransactions(ExportFormat format) {
+        String userId = SecurityUtil.getCurrentUserId();
+        log.info("Exporting transactions for user: {} as {}", userId, format);
+
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == ExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+            }
+
+            // The cursor needs an open transaction; rows are written as they arrive and flushed after each full fetch
+            long[] written = {0};
+            readOnlyTransaction.executeWithoutResult(status ->
+                    transactionViewRepository.forEachByUserId(userId, exportFetchSize, view -> {
+                        try {
+                            writeExportRow(writer, format, transactionMapper.toResponse(view));
+                            if (++written[0] % exportFetchSize == 0) {
+                                writer.flush();
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+
+            writer.flush();
+            log.info("Exported {} transactions for user: {}", written[0], userId);
+        };
+    }
+
+    @Override
+    public SseEmitter streamStatusChanges() {
+        String userId = SecurityUtil.getCurrentUserId();
+        log.info("Opening status stream for user: {}", userId);
+        return statusStreams.subscribe(userId);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<TransactionResponse> getUserTransactionsByCrypto(String cryptoId) {
         String userId = SecurityUtil.getCurrentUserId();
         log.info("Fetching transactions for user: {} and crypto: {}", userId, cryptoId);
 
-        List<Transaction> transactions = transactionRepository.findByUserIdAndCryptoIdOrderByCreatedAtDesc(userId, cryptoId);
+        List<TransactionView> transactions = transactionViewRepository.findByUserIdAndCryptoIdOrderByCreatedAtDesc(userId, cryptoId);
         return transactions.stream()
                 .map(transactionMapper::toResponse)
                 .toList();
     }
+
+    private void writeExportRow(Writer writer, ExportFormat format, TransactionResponse response) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(response));
+            writer.write('\n');
+            return;
+        }
+
+        writer.write(String.join(",",
+                String.valueOf(response.getId()),
+                csvField(response.getCryptoId()),
+                String.valueOf(response.getTransactionType()),
+                decimalField(response.getQuantity()),
+                decimalField(response.getTotalSpent()),
+                decimalField(response.getPricePerCoin()),
+                String.valueOf(response.getStatus()),
+                String.valueOf(response.getCreatedAt()),
+                response.getUpdatedAt() == null ? "" : response.getUpdatedAt().toString(),
+                csvField(response.getFailureReason())));
+        writer.write('\n');
+    }
+
+    private String decimalField(FixedPoint<?> value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private Transaction newTransaction(CreateTransactionRequest request, String userId) {
+        return Transaction.builder()
+                .cryptoId(request.getCryptoId())
+                .userId(userId)
+                .transactionType(request.getTransactionType())
+                .quantity(Quantity.of(request.getQuantity()))
+                .totalSpent(Money.of(request.getTotalSpent()))
+                .pricePerCoin(Price.of(request.getPricePerCoin()))
+                .status(TransactionStatus.PENDING)
+                .sagaId(UUID.randomUUID().toString())
+                .build();
+    }
+
+    private Map<String, String> validate(CreateTransactionRequest request) {
+        Map<String, String> errors = new HashMap<>();
+        if (request == null) {
+            errors.put("transaction", "Transaction is required");
+            return errors;
+        }
+
+        Set<ConstraintViolation<CreateTransactionRequest>> violations = validator.validate(request);
+        for (ConstraintViolation<CreateTransactionRequest> violation : violations) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
 }
@@ -0,0 +1,229 @@
+package com.tokentrackr.transaction_service.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tokentrackr.transaction_service.dto.events.TransactionStatusChangedEvent;
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user fan-out of transaction status changes to Server-Sent Events subscribers.
+ * <p>
+ * Publishing never blocks: each event is appended to every subscriber's bounded buffer, dropping
+ * the oldest entry when it is full, and a virtual thread drains the buffer into the connection.
+ * A slow client therefore only loses its own stale events. Idle connections hold no thread, only
+ * an emitter and an empty buffer; periodic heartbeats keep proxies from closing them and detect
+ * clients that went away.
+ */
+@Component
+@Slf4j
+public class TransactionStatusStreams {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    // Outcomes of local sagas arrive both in-process and through the broadcast
+    private final Cache<UUID, TransactionStatus> recentlyPublished = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(1))
+            .build();
+    private final Counter droppedEvents;
+
+    @Value("${transactions.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${transactions.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${transactions.stream.max-subscribers-per-user:10}")
+    private int maxSubscribersPerUser;
+
+    public TransactionStatusStreams(MeterRegistry meterRegistry) {
+        Gauge.builder("transactions.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open transaction status streams")
+                .register(meterRegistry);
+        droppedEvents = Counter.builder("transactions.stream.dropped")
+                .description("Status events dropped because a subscriber's buffer was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user. Beyond {@code max-subscribers-per-user} the user's oldest stream is closed.
+     */
+    public SseEmitter subscribe(String userId) {
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeoutMs));
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, list) -> {
+            List<Subscriber> updated = list == null ? new ArrayList<>(1) : new ArrayList<>(list);
+            while (updated.size() >= maxSubscribersPerUser) {
+                evicted.add(updated.remove(0));
+            }
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriberCount.incrementAndGet();
+        evicted.forEach(Subscriber::close);
+
+        // Flushes the response headers so the client sees the stream open right away
+        subscriber.offer(SseEmitter.event().comment("connected").build());
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTransactionStatusChanged(TransactionStatusChangedEvent event) {
+        if (event.getUserId() == null) {
+            return;
+        }
+        TransactionStatus previous = recentlyPublished.asMap().put(event.getTransactionId(), event.getStatus());
+        if (previous == event.getStatus()) {
+            return;
+        }
+        List<Subscriber> list = subscribers.get(event.getUserId());
+        if (list == null) {
+            return;
+        }
+
+        Set<DataWithMediaType> data = SseEmitter.event()
+                .id(event.getTransactionId() + ":" + event.getStatus())
+                .name("status")
+                .data(event, MediaType.APPLICATION_JSON)
+                .build();
+        for (Subscriber subscriber : list) {
+            subscriber.offer(data);
+        }
+    }
+
+    // Only idle subscribers get a heartbeat; one with events queued is about to write anyway
+    @Scheduled(fixedDelayString = "${transactions.stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        for (List<Subscriber> list : subscribers.values()) {
+            for (Subscriber subscriber : list) {
+                subscriber.offerIfIdle(HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.values().forEach(list -> list.forEach(Subscriber::close));
+        sendExecutor.shutdown();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.markClosed()) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.userId, (id, list) -> {
+            List<Subscriber> updated = new ArrayList<>(list);
+            updated.remove(subscriber);
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    private final class Subscriber {
+        final String userId;
+        final SseEmitter emitter;
+        // Guarded by this
+        private final ArrayDeque<Set<DataWithMediaType>> buffer = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscriber(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    droppedEvents.increment();
+                }
+                buffer.addLast(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            sendExecutor.execute(this::drain);
+        }
+
+        void offerIfIdle(Set<DataWithMediaType> event) {
+            synchronized (this) {
+                if (draining || !buffer.isEmpty()) {
+                    return;
+                }
+            }
+            offer(event);
+        }
+
+        synchronized boolean markClosed() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            buffer.clear();
+            return true;
+        }
+
+        void close() {
+            remove(this);
+            emitter.complete();
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> event;
+                synchronized (this) {
+                    event = buffer.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Closing status stream for user: {}", userId, e);
+                    remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.tokentrackr.transaction_service.service.interfaces;
+
+public interface AdmissionService {
+
+    /**
+     * Admits {@code transactions} new sagas for the current user or throws
+     * {@link com.tokentrackr.transaction_service.exception.TooManyRequestsException}.
+     */
+    void admit(int transactions);
+}
@@ -0,0 +1,15 @@
+package com.tokentrackr.transaction_service.service.interfaces;
+
+import com.tokentrackr.transaction_service.dto.response.HoldingResponse;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+
+import java.util.List;
+
+public interface HoldingService {
+    List<HoldingResponse> getUserHoldings();
+    void applyCompletedTransaction(String userId, String cryptoId, TransactionType transactionType,
+                                   Quantity quantity, Money totalSpent);
+    void recomputeHolding(String userId, String cryptoId);
+}
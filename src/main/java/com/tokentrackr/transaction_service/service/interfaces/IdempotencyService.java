@@ -0,0 +1,16 @@
+package com.tokentrackr.transaction_service.service.interfaces;
+
+import com.tokentrackr.transaction_service.dto.response.TransactionResponse;
+
+import java.util.Optional;
+
+public interface IdempotencyService {
+
+    Optional<TransactionResponse> findCached(String userId, String idempotencyKey);
+
+    boolean claim(String userId, String idempotencyKey);
+
+    TransactionResponse loadExisting(String userId, String idempotencyKey);
+
+    void complete(String userId, String idempotencyKey, TransactionResponse response);
+}
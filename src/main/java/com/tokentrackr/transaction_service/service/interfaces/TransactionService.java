@@ -1,17 +1,30 @@
 package com.tokentrackr.transaction_service.service.interfaces;
 
 import com.tokentrackr.transaction_service.dto.request.CreateTransactionRequest;
+import com.tokentrackr.transaction_service.dto.response.BatchTransactionResponse;
 import com.tokentrackr.transaction_service.dto.response.TransactionResponse;
+import com.tokentrackr.transaction_service.dto.response.TransactionSliceResponse;
+import com.tokentrackr.transaction_service.enums.ExportFormat;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface TransactionService {
-    TransactionResponse createTransaction(CreateTransactionRequest request);
+    TransactionResponse createTransaction(CreateTransactionRequest request, String idempotencyKey);
+    Optional<TransactionResponse> findReplay(String idempotencyKey);
+    BatchTransactionResponse createTransactions(List<CreateTransactionRequest> requests);
     Page<TransactionResponse> getUserTransactions(Pageable pageable);
+    TransactionSliceResponse getUserTransactionsByCursor(String cursor, int size);
     TransactionResponse getTransactionById(UUID id);
+    DeferredResult<TransactionResponse> awaitTransaction(UUID id, long timeoutMs);
     void deleteTransaction(UUID id);
     List<TransactionResponse> getUserTransactionsByCrypto(String cryptoId);
+    StreamingResponseBody exportUserTransactions(ExportFormat format);
+    SseEmitter streamStatusChanges();
 }
@@ -0,0 +1,12 @@
+package com.tokentrackr.transaction_service.service.messaging;
+
+import com.tokentrackr.transaction_service.dto.events.AssetUpdateEvent;
+import com.tokentrackr.transaction_service.dto.events.BalanceUpdateEvent;
+
+import java.util.List;
+
+public interface CommandOutbox {
+    void enqueueBalanceUpdate(BalanceUpdateEvent event);
+    void enqueueAssetUpdate(AssetUpdateEvent event);
+    void enqueueCommands(List<?> commands);
+}
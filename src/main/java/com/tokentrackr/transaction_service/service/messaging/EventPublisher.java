@@ -2,9 +2,13 @@ package com.tokentrackr.transaction_service.service.messaging;
 
 import com.tokentrackr.transaction_service.dto.events.*;
 
+import java.util.List;
+
 public interface EventPublisher {
     void publishBalanceUpdate(BalanceUpdateEvent event);
     void publishAssetUpdate(AssetUpdateEvent event);
     void publishTransactionCompleted(TransactionCompletedEvent event);
     void publishTransactionFailed(TransactionFailedEvent event);
+    void publishCommands(List<?> commands);
+    void publishDeadLetter(Object event);
 }
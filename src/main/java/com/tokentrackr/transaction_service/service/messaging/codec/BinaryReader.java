@@ -0,0 +1,126 @@
+package com.tokentrackr.transaction_service.service.messaging.codec;
+
+import com.tokentrackr.transaction_service.fixedpoint.FixedPoints;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.LongFunction;
+
+/**
+ * Reads the encodings written by {@link BinaryWriter}.
+ */
+final class BinaryReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    BinaryReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    int readByte() {
+        if (position >= buffer.length) {
+            throw new IllegalArgumentException("Unexpected end of binary saga event");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    long readVarLong() {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in binary saga event");
+    }
+
+    boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    Boolean readNullableBoolean() {
+        int value = readByte();
+        return value == 0 ? null : value == 2;
+    }
+
+    String readString() {
+        int length = readLength();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    UUID readUuid() {
+        if (readByte() == 0) {
+            return null;
+        }
+        return new UUID(readLong(), readLong());
+    }
+
+    /**
+     * Reads a decimal into units of {@code scale}. Decimals written with another scale are rescaled exactly;
+     * ones too large for a long (marker 2) are only accepted if they fit after rescaling.
+     */
+    <T> T readFixed(int scale, LongFunction<T> factory) {
+        int kind = readByte();
+        if (kind == 0) {
+            return null;
+        }
+        if (kind == 1) {
+            long unscaled = readVarLong();
+            return factory.apply(FixedPoints.rescale(unscaled, readScale(), scale));
+        }
+        if (kind != 2) {
+            throw new IllegalArgumentException("Unknown decimal marker in binary saga event: " + kind);
+        }
+
+        int length = readLength();
+        if (length <= 0) {
+            throw new IllegalArgumentException("Malformed decimal in binary saga event");
+        }
+        byte[] bytes = new byte[length];
+        System.arraycopy(buffer, position, bytes, 0, length);
+        position += length;
+        BigDecimal value = new BigDecimal(new BigInteger(bytes), readScale());
+        return factory.apply(FixedPoints.unscaledOf(value, scale));
+    }
+
+    private int readScale() {
+        long scale = readVarLong();
+        if (scale != (int) scale) {
+            throw new ArithmeticException("Decimal scale out of range: " + scale);
+        }
+        return (int) scale;
+    }
+
+    // -1 marks a null string
+    private int readLength() {
+        long length = readVarLong();
+        if (length < -1) {
+            throw new IllegalArgumentException("Negative length in binary saga event: " + length);
+        }
+        if (length > buffer.length - position) {
+            throw new IllegalArgumentException("Length exceeds binary saga event size");
+        }
+        return (int) length;
+    }
+
+    private long readLong() {
+        if (buffer.length - position < 8) {
+            throw new IllegalArgumentException("Unexpected end of binary saga event");
+        }
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+}
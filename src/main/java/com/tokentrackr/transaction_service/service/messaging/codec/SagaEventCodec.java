@@ -0,0 +1,233 @@
+package com.tokentrackr.transaction_service.service.messaging.codec;
+
+import com.tokentrackr.transaction_service.dto.events.*;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Price;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Schema-based binary encoding of the saga events in {@code dto.events}.
+ * <p>
+ * A message is a format version byte, a type id byte and the event's fields in the fixed order
+ * of its schema below. Field names are never written, UUIDs take 16 bytes and amounts are an
+ * unscaled varint plus scale. Type ids and field orders are part of the wire format: new events
+ * get new ids and new fields go at the end of a schema together with a version bump.
+ */
+public final class SagaEventCodec {
+
+    public static final String CONTENT_TYPE = "application/vnd.tokentrackr.saga-event";
+
+    private static final int VERSION = 1;
+
+    // Append-only: the index is the wire code
+    private static final TransactionType[] TRANSACTION_TYPES = {TransactionType.BUY, TransactionType.SELL};
+
+    private static final Schema<?>[] SCHEMAS_BY_ID = new Schema<?>[16];
+    private static final Map<Class<?>, Schema<?>> SCHEMAS_BY_TYPE = new HashMap<>();
+
+    static {
+        register(new Schema<>(1, BalanceUpdateEvent.class, (event, out) -> {
+            out.writeString(event.getSagaId());
+            out.writeUuid(event.getTransactionId());
+            out.writeString(event.getUserId());
+            out.writeFixed(event.getAmount());
+            out.writeNullableBoolean(event.getIsCompensation());
+            writeTransactionType(out, event.getTransactionType());
+        }, in -> BalanceUpdateEvent.builder()
+                .sagaId(in.readString())
+                .transactionId(in.readUuid())
+                .userId(in.readString())
+                .amount(in.readFixed(Money.SCALE, Money::new))
+                .isCompensation(in.readNullableBoolean())
+                .transactionType(readTransactionType(in))
+                .build()));
+
+        register(new Schema<>(2, BalanceUpdatedEvent.class, (event, out) -> {
+            out.writeString(event.getSagaId());
+            out.writeUuid(event.getTransactionId());
+            out.writeString(event.getUserId());
+            out.writeBoolean(event.isSuccess());
+            out.writeString(event.getFailureReason());
+        }, in -> BalanceUpdatedEvent.builder()
+                .sagaId(in.readString())
+                .transactionId(in.readUuid())
+                .userId(in.readString())
+                .success(in.readBoolean())
+                .failureReason(in.readString())
+                .build()));
+
+        register(new Schema<>(3, BalanceUpdateFailedEvent.class, (event, out) -> {
+            out.writeString(event.getSagaId());
+            out.writeUuid(event.getTransactionId());
+            out.writeString(event.getUserId());
+            out.writeString(event.getFailureReason());
+        }, in -> BalanceUpdateFailedEvent.builder()
+                .sagaId(in.readString())
+                .transactionId(in.readUuid())
+                .userId(in.readString())
+                .failureReason(in.readString())
+                .build()));
+
+        register(new Schema<>(4, AssetUpdateEvent.class, (event, out) -> {
+            out.writeString(event.getSagaId());
+            out.writeUuid(event.getTransactionId());
+            out.writeString(event.getUserId());
+            out.writeString(event.getCryptoId());
+            out.writeFixed(event.getQuantity());
+            out.writeNullableBoolean(event.getIsCompensation());
+            writeTransactionType(out, event.getTransactionType());
+        }, in -> AssetUpdateEvent.builder()
+                .sagaId(in.readString())
+                .transactionId(in.readUuid())
+                .userId(in.readString())
+                .cryptoId(in.readString())
+                .quantity(in.readFixed(Quantity.SCALE, Quantity::new))
+                .isCompensation(in.readNullableBoolean())
+                .transactionType(readTransactionType(in))
+                .build()));
+
+        register(new Schema<>(5, AssetUpdatedEvent.class, (event, out) -> {
+            out.writeString(event.getSagaId());
+            out.writeUuid(event.getTransactionId());
+            out.writeString(event.getUserId());
+            out.writeBoolean(event.isSuccess());
+            out.writeString(event.getFailureReason());
+        }, in -> AssetUpdatedEvent.builder()
+                .sagaId(in.readString())
+                .transactionId(in.readUuid())
+                .userId(in.readString())
+                .success(in.readBoolean())
+                .failureReason(in.readString())
+                .build()));
+
+        register(new Schema<>(6, AssetUpdateFailedEvent.class, (event, out) -> {
+            out.writeString(event.getSagaId());
+            out.writeUuid(event.getTransactionId());
+            out.writeString(event.getUserId());
+            out.writeString(event.getFailureReason());
+        }, in -> AssetUpdateFailedEvent.builder()
+                .sagaId(in.readString())
+                .transactionId(in.readUuid())
+                .userId(in.readString())
+                .failureReason(in.readString())
+                .build()));
+
+        register(new Schema<>(7, TransactionCreatedEvent.class, (event, out) -> {
+            out.writeUuid(event.getTransactionId());
+            out.writeString(event.getSagaId());
+            out.writeString(event.getUserId());
+            out.writeString(event.getCryptoId());
+            writeTransactionType(out, event.getTransactionType());
+            out.writeFixed(event.getQuantity());
+            out.writeFixed(event.getTotalSpent());
+            out.writeFixed(event.getPricePerCoin());
+        }, in -> TransactionCreatedEvent.builder()
+                .transactionId(in.readUuid())
+                .sagaId(in.readString())
+                .userId(in.readString())
+                .cryptoId(in.readString())
+                .transactionType(readTransactionType(in))
+                .quantity(in.readFixed(Quantity.SCALE, Quantity::new))
+                .totalSpent(in.readFixed(Money.SCALE, Money::new))
+                .pricePerCoin(in.readFixed(Price.SCALE, Price::new))
+                .build()));
+
+        register(new Schema<>(8, TransactionCompletedEvent.class, (event, out) -> {
+            out.writeString(event.getSagaId());
+            out.writeUuid(event.getTransactionId());
+            out.writeString(event.getUserId());
+        }, in -> TransactionCompletedEvent.builder()
+                .sagaId(in.readString())
+                .transactionId(in.readUuid())
+                .userId(in.readString())
+                .build()));
+
+        register(new Schema<>(9, TransactionFailedEvent.class, (event, out) -> {
+            out.writeString(event.getSagaId());
+            out.writeUuid(event.getTransactionId());
+            out.writeString(event.getUserId());
+            out.writeString(event.getFailureReason());
+        }, in -> TransactionFailedEvent.builder()
+                .sagaId(in.readString())
+                .transactionId(in.readUuid())
+                .userId(in.readString())
+                .failureReason(in.readString())
+                .build()));
+    }
+
+    private SagaEventCodec() {
+    }
+
+    public static boolean supports(Class<?> type) {
+        return SCHEMAS_BY_TYPE.containsKey(type);
+    }
+
+    public static byte[] encode(Object event) {
+        Schema<?> schema = SCHEMAS_BY_TYPE.get(event.getClass());
+        if (schema == null) {
+            throw new IllegalArgumentException("No binary schema for " + event.getClass().getName());
+        }
+        BinaryWriter out = new BinaryWriter(128);
+        out.writeByte(VERSION);
+        out.writeByte(schema.id());
+        schema.write(event, out);
+        return out.toByteArray();
+    }
+
+    public static Object decode(byte[] payload) {
+        BinaryReader in = new BinaryReader(payload);
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary saga event version: " + version);
+        }
+        int id = in.readByte();
+        Schema<?> schema = id < SCHEMAS_BY_ID.length ? SCHEMAS_BY_ID[id] : null;
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown binary saga event type id: " + id);
+        }
+        return schema.reader().apply(in);
+    }
+
+    private static void register(Schema<?> schema) {
+        SCHEMAS_BY_ID[schema.id()] = schema;
+        SCHEMAS_BY_TYPE.put(schema.type(), schema);
+    }
+
+    private static void writeTransactionType(BinaryWriter out, TransactionType type) {
+        if (type == null) {
+            out.writeByte(0);
+            return;
+        }
+        for (int i = 0; i < TRANSACTION_TYPES.length; i++) {
+            if (TRANSACTION_TYPES[i] == type) {
+                out.writeByte(i + 1);
+                return;
+            }
+        }
+        throw new IllegalArgumentException("No wire code for transaction type " + type);
+    }
+
+    private static TransactionType readTransactionType(BinaryReader in) {
+        int code = in.readByte();
+        if (code == 0) {
+            return null;
+        }
+        if (code > TRANSACTION_TYPES.length) {
+            throw new IllegalArgumentException("Unknown transaction type code: " + code);
+        }
+        return TRANSACTION_TYPES[code - 1];
+    }
+
+    private record Schema<T>(int id, Class<T> type, BiConsumer<T, BinaryWriter> writer, Function<BinaryReader, T> reader) {
+
+        void write(Object event, BinaryWriter out) {
+            writer.accept(type.cast(event), out);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.tokentrackr.transaction_service.service.messaging.codec;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * Chooses the codec per message by content type.
+ * <p>
+ * Outgoing saga events are written with {@link SagaEventCodec} when binary output is enabled and with
+ * the JSON converter otherwise. Incoming messages are decoded according to their own content type, so
+ * JSON and binary producers can be mixed while services roll over.
+ */
+public class SagaEventMessageConverter implements MessageConverter {
+
+    private final MessageConverter jsonConverter;
+    private final boolean binaryOutbound;
+
+    public SagaEventMessageConverter(MessageConverter jsonConverter, boolean binaryOutbound) {
+        this.jsonConverter = jsonConverter;
+        this.binaryOutbound = binaryOutbound;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties) {
+        if (!binaryOutbound || !SagaEventCodec.supports(object.getClass())) {
+            return jsonConverter.toMessage(object, messageProperties);
+        }
+        byte[] body = SagaEventCodec.encode(object);
+        messageProperties.setContentType(SagaEventCodec.CONTENT_TYPE);
+        messageProperties.setContentLength(body.length);
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) {
+        String contentType = message.getMessageProperties().getContentType();
+        if (!SagaEventCodec.CONTENT_TYPE.equals(contentType)) {
+            return jsonConverter.fromMessage(message);
+        }
+        try {
+            return SagaEventCodec.decode(message.getBody());
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new MessageConversionException("Failed to decode binary saga event", e);
+        }
+    }
+}
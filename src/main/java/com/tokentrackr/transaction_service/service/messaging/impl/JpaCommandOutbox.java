@@ -0,0 +1,86 @@
+package com.tokentrackr.transaction_service.service.messaging.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tokentrackr.transaction_service.dto.events.AssetUpdateEvent;
+import com.tokentrackr.transaction_service.dto.events.BalanceUpdateEvent;
+import com.tokentrackr.transaction_service.entity.OutboxEvent;
+import com.tokentrackr.transaction_service.enums.OutboxEventType;
+import com.tokentrackr.transaction_service.exception.EventSerializationException;
+import com.tokentrackr.transaction_service.repository.OutboxEventRepository;
+import com.tokentrackr.transaction_service.service.messaging.CommandOutbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Writes saga commands to the outbox table in the caller's transaction,
+ * so a command only becomes visible to {@link OutboxRelay} if the business write commits.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JpaCommandOutbox implements CommandOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueBalanceUpdate(BalanceUpdateEvent event) {
+        enqueue(event.getSagaId(), OutboxEventType.BALANCE_UPDATE, event);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAssetUpdate(AssetUpdateEvent event) {
+        enqueue(event.getSagaId(), OutboxEventType.ASSET_UPDATE, event);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueCommands(List<?> commands) {
+        log.info("Queueing batch of {} commands", commands.size());
+
+        List<OutboxEvent> outboxEvents = commands.stream()
+                .map(this::toOutboxEvent)
+                .toList();
+
+        outboxEventRepository.saveAll(outboxEvents);
+    }
+
+    private void enqueue(String sagaId, OutboxEventType type, Object event) {
+        log.info("Queueing {} command for saga: {}", type, sagaId);
+        outboxEventRepository.save(newOutboxEvent(sagaId, type, event));
+    }
+
+    private OutboxEvent toOutboxEvent(Object command) {
+        if (command instanceof BalanceUpdateEvent balanceEvent) {
+            return newOutboxEvent(balanceEvent.getSagaId(), OutboxEventType.BALANCE_UPDATE, balanceEvent);
+        }
+        if (command instanceof AssetUpdateEvent assetEvent) {
+            return newOutboxEvent(assetEvent.getSagaId(), OutboxEventType.ASSET_UPDATE, assetEvent);
+        }
+        throw new IllegalArgumentException("Unsupported command type: " + command.getClass().getName());
+    }
+
+    private OutboxEvent newOutboxEvent(String sagaId, OutboxEventType type, Object event) {
+        return OutboxEvent.builder()
+                .sagaId(sagaId)
+                .eventType(type)
+                .payload(toJson(event))
+                .build();
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new EventSerializationException("Failed to serialize outbox event: " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
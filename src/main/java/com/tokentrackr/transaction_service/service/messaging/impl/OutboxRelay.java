@@ -0,0 +1,81 @@
+package com.tokentrackr.transaction_service.service.messaging.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tokentrackr.transaction_service.entity.OutboxEvent;
+import com.tokentrackr.transaction_service.exception.EventSerializationException;
+import com.tokentrackr.transaction_service.repository.OutboxEventRepository;
+import com.tokentrackr.transaction_service.service.messaging.EventPublisher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the outbox table in batches and hands each batch to the {@link EventPublisher}.
+ * Rows are deleted in the same transaction that locked them, so a failed publish leaves them for the next run.
+ * A row whose payload cannot be read is moved to {@code outbox_dead_letters} instead, so it cannot hold up the rows behind it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.fixed-delay-ms:50}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed, will retry on next run", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> commands = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                commands.add(toCommand(outboxEvent));
+            } catch (EventSerializationException e) {
+                log.error("Moving outbox event {} of saga {} to dead letters", outboxEvent.getId(), outboxEvent.getSagaId(), e);
+                outboxEventRepository.copyToDeadLetters(outboxEvent.getId(), String.valueOf(e.getCause()));
+            }
+        }
+
+        if (!commands.isEmpty()) {
+            eventPublisher.publishCommands(commands);
+        }
+        outboxEventRepository.deleteAllInBatch(batch);
+
+        log.debug("Relayed {} outbox events", commands.size());
+        return batch.size();
+    }
+
+    private Object toCommand(OutboxEvent outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), outboxEvent.getEventType().getEventClass());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new EventSerializationException("Failed to deserialize outbox event: " + outboxEvent.getId(), e);
+        }
+    }
+}
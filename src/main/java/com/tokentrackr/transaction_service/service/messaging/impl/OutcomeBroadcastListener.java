@@ -0,0 +1,60 @@
+package com.tokentrackr.transaction_service.service.messaging.impl;
+
+import com.tokentrackr.transaction_service.config.RabbitMQConfig;
+import com.tokentrackr.transaction_service.dto.events.TransactionCompletedEvent;
+import com.tokentrackr.transaction_service.dto.events.TransactionFailedEvent;
+import com.tokentrackr.transaction_service.dto.events.TransactionStatusChangedEvent;
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.rabbit.annotation.Exchange;
+import org.springframework.amqp.rabbit.annotation.Queue;
+import org.springframework.amqp.rabbit.annotation.QueueBinding;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Replays saga outcomes from every replica, including this one, as in-process
+ * {@link TransactionStatusChangedEvent}s, so long-poll waiters, status streams and caches see
+ * sagas that finished elsewhere. Each instance reads through its own exclusive, auto-delete queue.
+ * Outcomes of local sagas therefore arrive twice; listeners must tolerate that.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutcomeBroadcastListener {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(value = RabbitMQConfig.SAGA_TOPIC_EXCHANGE, type = ExchangeTypes.TOPIC),
+            key = "transaction.completed"),
+            autoStartup = "${messaging.outcome-broadcast.enabled:true}")
+    public void onTransactionCompleted(TransactionCompletedEvent event) {
+        publish(event.getTransactionId(), event.getUserId(), TransactionStatus.COMPLETED, null);
+    }
+
+    @RabbitListener(bindings = @QueueBinding(
+            value = @Queue(exclusive = "true", autoDelete = "true"),
+            exchange = @Exchange(value = RabbitMQConfig.SAGA_TOPIC_EXCHANGE, type = ExchangeTypes.TOPIC),
+            key = "transaction.failed"),
+            autoStartup = "${messaging.outcome-broadcast.enabled:true}")
+    public void onTransactionFailed(TransactionFailedEvent event) {
+        publish(event.getTransactionId(), event.getUserId(), TransactionStatus.FAILED, event.getFailureReason());
+    }
+
+    private void publish(UUID transactionId, String userId, TransactionStatus status, String failureReason) {
+        log.debug("Broadcast outcome {} for transaction: {}", status, transactionId);
+        applicationEventPublisher.publishEvent(TransactionStatusChangedEvent.builder()
+                .transactionId(transactionId)
+                .userId(userId)
+                .status(status)
+                .failureReason(failureReason)
+                .build());
+    }
+}
@@ -0,0 +1,33 @@
+package com.tokentrackr.transaction_service.service.messaging.impl;
+
+import com.tokentrackr.transaction_service.config.RabbitStreamConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.rabbit.stream.producer.RabbitStreamTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends saga outcome events to the outcome super stream, keyed by userId.
+ */
+@Component
+@ConditionalOnProperty(name = "messaging.outcome-stream.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OutcomeStreamPublisher {
+
+    private final RabbitStreamTemplate outcomeStreamTemplate;
+
+    public void publish(String userId, String sagaId, Object event) {
+        outcomeStreamTemplate.convertAndSend(event, message -> {
+                    message.getMessageProperties().setHeader(RabbitStreamConfig.USER_ID_HEADER, userId);
+                    return message;
+                })
+                .whenComplete((confirmed, error) -> {
+                    if (error != null || !Boolean.TRUE.equals(confirmed)) {
+                        log.error("Outcome stream did not confirm {} for saga: {}",
+                                event.getClass().getSimpleName(), sagaId, error);
+                    }
+                });
+    }
+}
@@ -0,0 +1,192 @@
+package com.tokentrackr.transaction_service.service.messaging.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes with correlated publisher confirms without waiting for each one.
+ * <p>
+ * Up to {@code messaging.publisher.max-in-flight} messages may be unconfirmed at once; publishers block
+ * (up to {@code messaging.publisher.window-timeout-ms}) when the window is full. Nacked or unroutable
+ * messages are republished until {@code messaging.publisher.max-attempts} is reached.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PublisherConfirmTracker {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, PendingPublish> pending = new ConcurrentHashMap<>();
+    // Republishing from the confirm callback would run on the connection's I/O thread
+    private final ExecutorService retryExecutor = Executors.newSingleThreadExecutor();
+
+    @Value("${spring.rabbitmq.publisher-confirm-type:none}")
+    private String confirmType;
+
+    @Value("${messaging.publisher.max-in-flight:1000}")
+    private int maxInFlight;
+
+    @Value("${messaging.publisher.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${messaging.publisher.window-timeout-ms:5000}")
+    private long windowTimeoutMs;
+
+    private Semaphore window;
+    private Timer confirmLatency;
+    private Counter retries;
+    private Counter failures;
+
+    @PostConstruct
+    void init() {
+        window = new Semaphore(maxInFlight);
+        confirmLatency = Timer.builder("rabbitmq.publisher.confirm.latency")
+                .description("Time from publish to broker confirm")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("rabbitmq.publisher.in.flight", pending, Map::size)
+                .description("Published messages awaiting a broker confirm")
+                .register(meterRegistry);
+        retries = meterRegistry.counter("rabbitmq.publisher.retries");
+        failures = meterRegistry.counter("rabbitmq.publisher.failures");
+
+        if (isEnabled()) {
+            rabbitTemplate.setMandatory(true);
+            rabbitTemplate.setConfirmCallback(this::onConfirm);
+            rabbitTemplate.setReturnsCallback(this::onReturn);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryExecutor.shutdown();
+    }
+
+    public boolean isEnabled() {
+        return "correlated".equalsIgnoreCase(confirmType);
+    }
+
+    /**
+     * @return a future completed once the broker has confirmed the message, or completed exceptionally
+     * once every attempt was nacked or returned
+     */
+    public CompletableFuture<Void> send(String exchange, String routingKey, Object event) {
+        acquireWindowSlot();
+        PendingPublish publish = new PendingPublish(exchange, routingKey, event, 1, new CompletableFuture<>());
+        dispatch(publish);
+        return publish.result();
+    }
+
+    private void acquireWindowSlot() {
+        try {
+            if (!window.tryAcquire(windowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new AmqpException("Timed out waiting for publisher confirm window, " + pending.size() + " in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted waiting for publisher confirm window", e);
+        }
+    }
+
+    private void dispatch(PendingPublish publish) {
+        CorrelationData correlation = new CorrelationData(UUID.randomUUID().toString());
+        pending.put(correlation.getId(), publish.sentNow());
+        try {
+            rabbitTemplate.convertAndSend(publish.exchange(), publish.routingKey(), publish.event(), correlation);
+        } catch (AmqpException e) {
+            pending.remove(correlation.getId());
+            window.release();
+            publish.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void onConfirm(CorrelationData correlation, boolean ack, String cause) {
+        if (correlation == null) {
+            return;
+        }
+        PendingPublish publish = pending.remove(correlation.getId());
+        if (publish == null) {
+            return;
+        }
+
+        confirmLatency.record(System.nanoTime() - publish.sentAtNanos(), TimeUnit.NANOSECONDS);
+
+        ReturnedMessage returned = correlation.getReturned();
+        if (ack && returned == null) {
+            window.release();
+            publish.result().complete(null);
+            return;
+        }
+
+        String reason = ack ? "returned: " + returned.getReplyText() : "nacked: " + cause;
+        if (publish.attempt() < maxAttempts) {
+            log.warn("Republishing message to {} (attempt {}), {}", publish.routingKey(), publish.attempt() + 1, reason);
+            retries.increment();
+            // The retry keeps the window slot of the original publish
+            retryExecutor.execute(() -> retry(publish.nextAttempt()));
+        } else {
+            log.error("Giving up on message to {} after {} attempts, {}", publish.routingKey(), publish.attempt(), reason);
+            failures.increment();
+            window.release();
+            publish.result().completeExceptionally(new AmqpException("Message to " + publish.routingKey() + " " + reason));
+        }
+    }
+
+    private void retry(PendingPublish publish) {
+        try {
+            dispatch(publish);
+        } catch (AmqpException e) {
+            log.error("Republishing message to {} failed", publish.routingKey(), e);
+            failures.increment();
+        }
+    }
+
+    private void onReturn(ReturnedMessage returned) {
+        log.warn("Message returned by broker: exchange={}, routingKey={}, replyText={}",
+                returned.getExchange(), returned.getRoutingKey(), returned.getReplyText());
+    }
+
+    private record PendingPublish(String exchange,
+                                  String routingKey,
+                                  Object event,
+                                  int attempt,
+                                  CompletableFuture<Void> result,
+                                  long sentAtNanos) {
+
+        PendingPublish(String exchange, String routingKey, Object event, int attempt, CompletableFuture<Void> result) {
+            this(exchange, routingKey, event, attempt, result, 0L);
+        }
+
+        PendingPublish sentNow() {
+            return new PendingPublish(exchange, routingKey, event, attempt, result, System.nanoTime());
+        }
+
+        PendingPublish nextAttempt() {
+            return new PendingPublish(exchange, routingKey, event, attempt + 1, result, sentAtNanos);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.tokentrackr.transaction_service.service.messaging.impl;
+import com.tokentrackr.transaction_service.config.RabbitMQConfig;
+import com.tokentrackr.transaction_service.dto.events.*;
+import com.tokentrackr.transaction_service.saga.SagaExecutor;
+import com.tokentrackr.transaction_service.saga.TransactionSagaOrchestrator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Batch counterpart of {@link RabbitMQEventListener}, enabled with {@code messaging.listener.batch.enabled=true}.
+ * Events that fail on their own are dead-lettered by {@link SagaDeadLetters} while the rest of the batch is acknowledged.
+ */
+@Component
+@ConditionalOnProperty(name = "messaging.listener.batch.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class RabbitMQBatchEventListener {
+
+    private final TransactionSagaOrchestrator sagaOrchestrator;
+    private final SagaExecutor sagaExecutor;
+    private final SagaDeadLetters sagaDeadLetters;
+
+    @RabbitListener(queues = "balance.updated.queue", containerFactory = RabbitMQConfig.BATCH_LISTENER_CONTAINER_FACTORY)
+    public void handleBalanceUpdated(List<BalanceUpdatedEvent> events) {
+        log.info("Received batch of {} balance updated events", events.size());
+        sagaDeadLetters.handle(sagaExecutor.executeBatch(events, BalanceUpdatedEvent::getSagaId, sagaOrchestrator::handleBalanceUpdatedBatch));
+    }
+
+    @RabbitListener(queues = "asset.updated.queue", containerFactory = RabbitMQConfig.BATCH_LISTENER_CONTAINER_FACTORY)
+    public void handleAssetUpdated(List<AssetUpdatedEvent> events) {
+        log.info("Received batch of {} asset updated events", events.size());
+        sagaDeadLetters.handle(sagaExecutor.executeBatch(events, AssetUpdatedEvent::getSagaId, sagaOrchestrator::handleAssetUpdatedBatch));
+    }
+
+    @RabbitListener(queues = "balance.update.failed.queue", containerFactory = RabbitMQConfig.BATCH_LISTENER_CONTAINER_FACTORY)
+    public void handleBalanceUpdateFailed(List<BalanceUpdateFailedEvent> events) {
+        log.info("Received batch of {} balance update failed events", events.size());
+        sagaDeadLetters.handle(sagaExecutor.executeBatch(events, BalanceUpdateFailedEvent::getSagaId, sagaOrchestrator::handleBalanceUpdateFailedBatch));
+    }
+
+    @RabbitListener(queues = "asset.update.failed.queue", containerFactory = RabbitMQConfig.BATCH_LISTENER_CONTAINER_FACTORY)
+    public void handleAssetUpdateFailed(List<AssetUpdateFailedEvent> events) {
+        log.info("Received batch of {} asset update failed events", events.size());
+        sagaDeadLetters.handle(sagaExecutor.executeBatch(events, AssetUpdateFailedEvent::getSagaId, sagaOrchestrator::handleAssetUpdateFailedBatch));
+    }
+}
@@ -1,44 +1,57 @@
 package com.tokentrackr.transaction_service.service.messaging.impl;
 import com.tokentrackr.transaction_service.dto.events.*;
+import com.tokentrackr.transaction_service.saga.SagaExecutor;
 import com.tokentrackr.transaction_service.saga.TransactionSagaOrchestrator;
 import com.tokentrackr.transaction_service.service.messaging.EventListener;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(name = "messaging.listener.batch.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class RabbitMQEventListener implements EventListener {
 
     private final TransactionSagaOrchestrator sagaOrchestrator;
+    private final SagaExecutor sagaExecutor;
+    private final SagaDeadLetters sagaDeadLetters;
 
     @Override
     @RabbitListener(queues = "balance.updated.queue")
     public void handleBalanceUpdated(BalanceUpdatedEvent event) {
         log.info("Received balance updated event for saga: {}", event.getSagaId());
-        sagaOrchestrator.handleBalanceUpdated(event);
+        execute(event.getSagaId(), event, () -> sagaOrchestrator.handleBalanceUpdated(event));
     }
 
     @Override
     @RabbitListener(queues = "asset.updated.queue")
     public void handleAssetUpdated(AssetUpdatedEvent event) {
         log.info("Received asset updated event for saga: {}", event.getSagaId());
-        sagaOrchestrator.handleAssetUpdated(event);
+        execute(event.getSagaId(), event, () -> sagaOrchestrator.handleAssetUpdated(event));
     }
 
     @Override
     @RabbitListener(queues = "balance.update.failed.queue")
     public void handleBalanceUpdateFailed(BalanceUpdateFailedEvent event) {
         log.info("Received balance update failed event for saga: {}", event.getSagaId());
-        sagaOrchestrator.handleBalanceUpdateFailed(event);
+        execute(event.getSagaId(), event, () -> sagaOrchestrator.handleBalanceUpdateFailed(event));
     }
 
     @Override
     @RabbitListener(queues = "asset.update.failed.queue")
     public void handleAssetUpdateFailed(AssetUpdateFailedEvent event) {
         log.info("Received asset update failed event for saga: {}", event.getSagaId());
-        sagaOrchestrator.handleAssetUpdateFailed(event);
+        execute(event.getSagaId(), event, () -> sagaOrchestrator.handleAssetUpdateFailed(event));
+    }
+
+    private void execute(String sagaId, Object event, Runnable handler) {
+        try {
+            sagaExecutor.execute(sagaId, handler);
+        } catch (RuntimeException e) {
+            sagaDeadLetters.handle(event, e);
+        }
     }
 }
@@ -5,20 +5,40 @@ import com.tokentrackr.transaction_service.dto.events.*;
 import com.tokentrackr.transaction_service.service.messaging.EventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class RabbitMQEventPublisher implements EventPublisher {
 
     private final RabbitTemplate rabbitTemplate;
+    private final PublisherConfirmTracker confirmTracker;
+    private final Optional<OutcomeStreamPublisher> outcomeStreamPublisher;
+
+    @Value("${messaging.publisher.batch-confirm-timeout-ms:10000}")
+    private long batchConfirmTimeoutMs;
+
+    // Keeps the topic exchange fed while consumers move over to the outcome stream
+    @Value("${messaging.outcome-stream.keep-topic:true}")
+    private boolean keepOutcomeTopic;
 
     // 1) Command messages → Direct Exchange
     @Override
     public void publishBalanceUpdate(BalanceUpdateEvent event) {
         log.info("Publishing balance update for saga: {}", event.getSagaId());
-        rabbitTemplate.convertAndSend(
+        send(
                 RabbitMQConfig.SAGA_DIRECT_EXCHANGE,     // DirectExchange
                 "balance.update",                       // routing key
                 event
@@ -28,7 +48,7 @@ public class RabbitMQEventPublisher implements EventPublisher {
     @Override
     public void publishAssetUpdate(AssetUpdateEvent event) {
         log.info("Publishing asset update for saga: {}", event.getSagaId());
-        rabbitTemplate.convertAndSend(
+        send(
                 RabbitMQConfig.SAGA_DIRECT_EXCHANGE,
                 "asset.update",
                 event
@@ -39,20 +59,97 @@ public class RabbitMQEventPublisher implements EventPublisher {
     @Override
     public void publishTransactionCompleted(TransactionCompletedEvent event) {
         log.info("Publishing transaction completed for saga: {}", event.getSagaId());
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.SAGA_TOPIC_EXCHANGE,     // TopicExchange
-                "transaction.completed",                // routing key
-                event
-        );
+        outcomeStreamPublisher.ifPresent(stream -> stream.publish(event.getUserId(), event.getSagaId(), event));
+        if (outcomeStreamPublisher.isEmpty() || keepOutcomeTopic) {
+            send(
+                    RabbitMQConfig.SAGA_TOPIC_EXCHANGE,     // TopicExchange
+                    "transaction.completed",                // routing key
+                    event
+            );
+        }
     }
 
     @Override
     public void publishTransactionFailed(TransactionFailedEvent event) {
         log.info("Publishing transaction failed for saga: {}", event.getSagaId());
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.SAGA_TOPIC_EXCHANGE,
-                "transaction.failed",
-                event
-        );
+        outcomeStreamPublisher.ifPresent(stream -> stream.publish(event.getUserId(), event.getSagaId(), event));
+        if (outcomeStreamPublisher.isEmpty() || keepOutcomeTopic) {
+            send(
+                    RabbitMQConfig.SAGA_TOPIC_EXCHANGE,
+                    "transaction.failed",
+                    event
+            );
+        }
+    }
+
+    // 3) Relayed command batches → Direct Exchange
+    @Override
+    public void publishCommands(List<?> commands) {
+        log.info("Publishing batch of {} commands", commands.size());
+
+        if (!confirmTracker.isEnabled()) {
+            // All published on one channel
+            rabbitTemplate.invoke(operations -> {
+                for (Object command : commands) {
+                    operations.convertAndSend(
+                            RabbitMQConfig.SAGA_DIRECT_EXCHANGE,
+                            commandRoutingKey(command),
+                            command
+                    );
+                }
+                return null;
+            });
+            return;
+        }
+
+        // Pipelined: the whole batch is in flight before we wait, so the batch costs one confirm round-trip
+        List<CompletableFuture<Void>> confirms = new ArrayList<>(commands.size());
+        for (Object command : commands) {
+            confirms.add(confirmTracker.send(RabbitMQConfig.SAGA_DIRECT_EXCHANGE, commandRoutingKey(command), command));
+        }
+        awaitConfirms(confirms);
+    }
+
+    // 4) Unprocessable saga responses → dead-letter queue, confirmed before the caller acks the original
+    @Override
+    public void publishDeadLetter(Object event) {
+        if (!confirmTracker.isEnabled()) {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.SAGA_DIRECT_EXCHANGE, RabbitMQConfig.SAGA_DEAD_LETTER_ROUTING_KEY, event);
+            return;
+        }
+        awaitConfirms(List.of(confirmTracker.send(
+                RabbitMQConfig.SAGA_DIRECT_EXCHANGE, RabbitMQConfig.SAGA_DEAD_LETTER_ROUTING_KEY, event)));
+    }
+
+    private void send(String exchange, String routingKey, Object event) {
+        if (confirmTracker.isEnabled()) {
+            confirmTracker.send(exchange, routingKey, event);
+        } else {
+            rabbitTemplate.convertAndSend(exchange, routingKey, event);
+        }
+    }
+
+    private void awaitConfirms(List<CompletableFuture<Void>> confirms) {
+        try {
+            CompletableFuture.allOf(confirms.toArray(CompletableFuture[]::new))
+                    .get(batchConfirmTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Interrupted waiting for publisher confirms", e);
+        } catch (ExecutionException e) {
+            throw new AmqpException("Batch was not confirmed by the broker", e.getCause());
+        } catch (TimeoutException e) {
+            throw new AmqpException("Timed out waiting for publisher confirms", e);
+        }
+    }
+
+    private String commandRoutingKey(Object command) {
+        if (command instanceof BalanceUpdateEvent) {
+            return "balance.update";
+        }
+        if (command instanceof AssetUpdateEvent) {
+            return "asset.update";
+        }
+        throw new IllegalArgumentException("Unsupported command type: " + command.getClass().getName());
     }
 }
@@ -0,0 +1,66 @@
+package com.tokentrackr.transaction_service.service.messaging.impl;
+
+import com.tokentrackr.transaction_service.saga.SagaExecutor.FailedEvent;
+import com.tokentrackr.transaction_service.service.messaging.EventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.List;
+
+/**
+ * Decides what happens to a saga response event that failed on its own.
+ * <p>
+ * Failures caused by the database or broker being unavailable are rethrown, so the delivery is
+ * requeued and retried once they recover. Anything else would fail the same way on every redelivery,
+ * so the event is moved to {@code saga.dead.letter.queue} and its delivery acknowledged.
+ */
+@Component
+@Slf4j
+public class SagaDeadLetters {
+
+    private final EventPublisher eventPublisher;
+    private final Counter deadLettered;
+
+    public SagaDeadLetters(EventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.deadLettered = Counter.builder("saga.events.dead.lettered")
+                .description("Saga response events moved to the dead-letter queue")
+                .register(meterRegistry);
+    }
+
+    public void handle(Object event, RuntimeException error) {
+        if (isTransient(error)) {
+            throw error;
+        }
+        log.error("Moving unprocessable saga event to dead letters: {}", event, error);
+        eventPublisher.publishDeadLetter(event);
+        deadLettered.increment();
+    }
+
+    public <T> void handle(List<FailedEvent<T>> failures) {
+        // Transient failures requeue the whole delivery; events that did commit are dropped by the inbox next time
+        for (FailedEvent<T> failure : failures) {
+            if (isTransient(failure.error())) {
+                throw failure.error();
+            }
+        }
+        for (FailedEvent<T> failure : failures) {
+            handle(failure.event(), failure.error());
+        }
+    }
+
+    private static boolean isTransient(RuntimeException error) {
+        return error instanceof TransientDataAccessException
+                || error instanceof RecoverableDataAccessException
+                || error instanceof DataAccessResourceFailureException
+                || error instanceof CannotCreateTransactionException
+                || error instanceof AmqpException;
+    }
+}
@@ -0,0 +1,4 @@
+-- V10__add_saga_states_started_at.sql
+
+-- When the saga started, used for step latency metrics
+ALTER TABLE saga_states ADD COLUMN IF NOT EXISTS started_at TIMESTAMP;
@@ -0,0 +1,78 @@
+-- V11__partition_transactions_by_month.sql
+
+-- Rebuilds transactions as a table range-partitioned by month on created_at.
+-- The primary key has to include the partition key; ids stay random UUIDs, so (id, created_at) is as selective as id.
+
+CREATE SCHEMA IF NOT EXISTS transactions_archive;
+
+DROP INDEX IF EXISTS idx_transactions_user_created_at_id;
+DROP INDEX IF EXISTS uk_transactions_saga_id;
+DROP INDEX IF EXISTS idx_transactions_user_crypto_created_at;
+DROP INDEX IF EXISTS idx_transactions_user_status;
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+ALTER TABLE transactions_unpartitioned RENAME CONSTRAINT transactions_pkey TO transactions_unpartitioned_pkey;
+
+CREATE TABLE transactions (
+                              id UUID NOT NULL DEFAULT gen_random_uuid(),
+                              crypto_id VARCHAR(255) NOT NULL,
+                              user_id VARCHAR(255) NOT NULL,
+                              transaction_type VARCHAR(50) NOT NULL,
+                              quantity NUMERIC(18, 8) NOT NULL,
+                              total_spent NUMERIC(18, 2) NOT NULL,
+                              price_per_coin NUMERIC(18, 8) NOT NULL,
+                              status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+                              saga_id VARCHAR(255),
+                              created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                              updated_at TIMESTAMP,
+                              failure_reason TEXT,
+                              PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Creates the monthly partition containing the given day unless it already exists; used by the maintenance job
+CREATE OR REPLACE FUNCTION create_transactions_partition(month_day DATE) RETURNS TEXT AS $$
+DECLARE
+    month_start DATE := date_trunc('month', month_day)::date;
+    partition_name TEXT := format('transactions_p%s', to_char(month_start, 'YYYY_MM'));
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, (month_start + INTERVAL '1 month')::date);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for all existing rows plus the next three months
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT min(created_at) FROM transactions_unpartitioned), NOW()))::date;
+BEGIN
+    WHILE month_start <= date_trunc('month', NOW() + INTERVAL '3 months')::date LOOP
+        PERFORM create_transactions_partition(month_start);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO transactions (id, crypto_id, user_id, transaction_type, quantity, total_spent, price_per_coin,
+                          status, saga_id, created_at, updated_at, failure_reason)
+SELECT id, crypto_id, user_id, transaction_type, quantity, total_spent, price_per_coin,
+       status, saga_id, created_at, updated_at, failure_reason
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+-- Indexes are defined on the parent and created on every partition, including future ones
+CREATE INDEX IF NOT EXISTS idx_transactions_user_created_at_id
+    ON transactions (user_id, created_at DESC, id DESC);
+
+-- A unique index would have to include created_at; saga ids are generated per transaction
+CREATE INDEX IF NOT EXISTS idx_transactions_saga_id
+    ON transactions (saga_id);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_crypto_created_at
+    ON transactions (user_id, crypto_id, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_status
+    ON transactions (user_id, status);
+
+-- Lets saga steps address a transaction by its full key so status updates are pruned to one partition
+ALTER TABLE saga_states ADD COLUMN IF NOT EXISTS transaction_created_at TIMESTAMP;
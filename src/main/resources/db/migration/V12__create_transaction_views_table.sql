@@ -0,0 +1,40 @@
+-- V12__create_transaction_views_table.sql
+
+-- Read model served to the transaction endpoints, kept apart from the transactions table the saga writes to.
+-- Rows are inserted once when a transaction is created and updated once when its saga completes or fails.
+-- No index covers status, updated_at or failure_reason, and fillfactor leaves room on each page,
+-- so the terminal update is a heap-only (HOT) update that never touches an index.
+CREATE TABLE IF NOT EXISTS transaction_views (
+                                   user_id VARCHAR(255) NOT NULL,
+                                   id UUID NOT NULL,
+                                   crypto_id VARCHAR(255) NOT NULL,
+                                   transaction_type VARCHAR(50) NOT NULL,
+                                   quantity NUMERIC(18, 8) NOT NULL,
+                                   total_spent NUMERIC(18, 2) NOT NULL,
+                                   price_per_coin NUMERIC(18, 8) NOT NULL,
+                                   status VARCHAR(50) NOT NULL,
+                                   created_at TIMESTAMP NOT NULL,
+                                   updated_at TIMESTAMP,
+                                   failure_reason TEXT,
+                                   PRIMARY KEY (user_id, id)
+) WITH (fillfactor = 90);
+
+-- Offset and keyset pages, and the export
+CREATE INDEX IF NOT EXISTS idx_transaction_views_user_created_at_id
+    ON transaction_views (user_id, created_at DESC, id DESC);
+
+-- Transactions of one crypto
+CREATE INDEX IF NOT EXISTS idx_transaction_views_user_crypto_created_at
+    ON transaction_views (user_id, crypto_id, created_at DESC);
+
+INSERT INTO transaction_views (user_id, id, crypto_id, transaction_type, quantity, total_spent, price_per_coin,
+                               status, created_at, updated_at, failure_reason)
+SELECT user_id, id, crypto_id, transaction_type, quantity, total_spent, price_per_coin,
+       status, created_at, updated_at, failure_reason
+FROM transactions
+ON CONFLICT (user_id, id) DO NOTHING;
+
+-- Queries by user moved to the read model; the saga path no longer pays for maintaining these on every insert
+DROP INDEX IF EXISTS idx_transactions_user_created_at_id;
+DROP INDEX IF EXISTS idx_transactions_user_crypto_created_at;
+DROP INDEX IF EXISTS idx_transactions_user_status;
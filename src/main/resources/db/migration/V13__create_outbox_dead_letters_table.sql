@@ -0,0 +1,12 @@
+-- V13__create_outbox_dead_letters_table.sql
+
+-- Outbox rows the relay could not turn into a command, kept for inspection and manual replay
+CREATE TABLE IF NOT EXISTS outbox_dead_letters (
+                                                   id BIGINT PRIMARY KEY,
+                                                   saga_id VARCHAR(255) NOT NULL,
+                                                   event_type VARCHAR(50) NOT NULL,
+                                                   payload TEXT NOT NULL,
+                                                   error TEXT,
+                                                   created_at TIMESTAMP NOT NULL,
+                                                   failed_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
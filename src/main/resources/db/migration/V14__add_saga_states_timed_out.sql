@@ -0,0 +1,5 @@
+-- V14__add_saga_states_timed_out.sql
+
+-- Sagas failed by a timeout are kept as tombstones for a while, so a step that was still in flight
+-- and succeeds afterwards can be compensated
+ALTER TABLE saga_states ADD COLUMN IF NOT EXISTS timed_out BOOLEAN NOT NULL DEFAULT FALSE;
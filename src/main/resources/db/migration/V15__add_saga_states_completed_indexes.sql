@@ -0,0 +1,9 @@
+-- V15__add_saga_states_completed_indexes.sql
+
+-- Finished sagas now stay in the table as tombstones; the startup scan reads only the active rows
+-- and the purge only the finished ones
+CREATE INDEX IF NOT EXISTS idx_saga_states_active_started_at
+    ON saga_states (started_at) WHERE NOT completed;
+
+CREATE INDEX IF NOT EXISTS idx_saga_states_finished_started_at
+    ON saga_states (started_at) WHERE completed;
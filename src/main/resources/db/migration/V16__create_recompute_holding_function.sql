@@ -0,0 +1,47 @@
+-- V16__create_recompute_holding_function.sql
+
+-- Rebuilds one holding by replaying its completed transactions in order, the same way V7 backfilled them.
+-- Used when a completed transaction is deleted: average cost and realized P&L of every later sell depend on it.
+-- Live transactions are read through the read model's (user_id, crypto_id) index; archived partitions are scanned.
+CREATE OR REPLACE FUNCTION recompute_holding(p_user_id VARCHAR, p_crypto_id VARCHAR) RETURNS INTEGER AS $$
+DECLARE
+    sources TEXT := 'SELECT transaction_type, quantity, total_spent, created_at, id FROM transaction_views ' ||
+                    'WHERE user_id = $1 AND crypto_id = $2 AND status = ''COMPLETED''';
+    archived RECORD;
+    t RECORD;
+    replayed INTEGER := 0;
+BEGIN
+    FOR archived IN SELECT tablename FROM pg_tables WHERE schemaname = 'transactions_archive' LOOP
+        sources := sources || format(' UNION ALL SELECT transaction_type, quantity, total_spent, created_at, id ' ||
+                                     'FROM transactions_archive.%I ' ||
+                                     'WHERE user_id = $1 AND crypto_id = $2 AND status = ''COMPLETED''',
+                                     archived.tablename);
+    END LOOP;
+
+    DELETE FROM holdings WHERE user_id = p_user_id AND crypto_id = p_crypto_id;
+
+    FOR t IN EXECUTE sources || ' ORDER BY created_at, id' USING p_user_id, p_crypto_id LOOP
+        IF t.transaction_type = 'BUY' THEN
+            INSERT INTO holdings AS h (user_id, crypto_id, quantity, total_cost, realized_pnl, updated_at)
+            VALUES (p_user_id, p_crypto_id, t.quantity, t.total_spent, 0, NOW())
+            ON CONFLICT (user_id, crypto_id) DO UPDATE SET
+                quantity = h.quantity + EXCLUDED.quantity,
+                total_cost = h.total_cost + EXCLUDED.total_cost,
+                updated_at = EXCLUDED.updated_at;
+        ELSE
+            INSERT INTO holdings AS h (user_id, crypto_id, quantity, total_cost, realized_pnl, updated_at)
+            VALUES (p_user_id, p_crypto_id, -1 * t.quantity, 0, t.total_spent, NOW())
+            ON CONFLICT (user_id, crypto_id) DO UPDATE SET
+                realized_pnl = h.realized_pnl + EXCLUDED.realized_pnl -
+                    CASE WHEN h.quantity > 0 THEN h.total_cost * LEAST(t.quantity, h.quantity) / h.quantity ELSE 0 END,
+                total_cost = h.total_cost -
+                    CASE WHEN h.quantity > 0 THEN h.total_cost * LEAST(t.quantity, h.quantity) / h.quantity ELSE 0 END,
+                quantity = h.quantity - t.quantity,
+                updated_at = EXCLUDED.updated_at;
+        END IF;
+        replayed := replayed + 1;
+    END LOOP;
+
+    RETURN replayed;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,11 @@
+-- V2__create_outbox_events_table.sql
+
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+                                             id BIGINT PRIMARY KEY,
+                                             saga_id VARCHAR(255) NOT NULL,
+                                             event_type VARCHAR(50) NOT NULL,
+                                             payload TEXT NOT NULL,
+                                             created_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,11 @@
+-- V3__create_saga_states_table.sql
+
+CREATE TABLE IF NOT EXISTS saga_states (
+                                           saga_id VARCHAR(255) PRIMARY KEY,
+                                           transaction_type VARCHAR(50) NOT NULL,
+                                           balance_updated BOOLEAN NOT NULL DEFAULT FALSE,
+                                           asset_updated BOOLEAN NOT NULL DEFAULT FALSE,
+                                           completed BOOLEAN NOT NULL DEFAULT FALSE,
+                                           failure_reason TEXT,
+                                           updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,5 @@
+-- V4__add_transactions_user_created_at_index.sql
+
+-- Serves keyset pagination: WHERE user_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_transactions_user_created_at_id
+    ON transactions (user_id, created_at DESC, id DESC);
@@ -0,0 +1,13 @@
+-- V5__add_transactions_query_indexes.sql
+
+-- findBySagaId runs on every saga response; saga ids are generated per transaction
+CREATE UNIQUE INDEX IF NOT EXISTS uk_transactions_saga_id
+    ON transactions (saga_id);
+
+-- findByUserIdAndCryptoIdOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_transactions_user_crypto_created_at
+    ON transactions (user_id, crypto_id, created_at DESC);
+
+-- findByUserIdAndStatus / countByUserIdAndStatus (the count is answered by an index-only scan)
+CREATE INDEX IF NOT EXISTS idx_transactions_user_status
+    ON transactions (user_id, status);
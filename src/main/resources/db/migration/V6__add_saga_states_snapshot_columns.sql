@@ -0,0 +1,10 @@
+-- V6__add_saga_states_snapshot_columns.sql
+
+-- Command fields of the saga's transaction, so saga steps don't reload the transactions row.
+-- Nullable for states written before this migration; those fall back to a single lookup.
+ALTER TABLE saga_states
+    ADD COLUMN IF NOT EXISTS transaction_id UUID,
+    ADD COLUMN IF NOT EXISTS user_id VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS crypto_id VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS quantity NUMERIC(18, 8),
+    ADD COLUMN IF NOT EXISTS total_spent NUMERIC(18, 2);
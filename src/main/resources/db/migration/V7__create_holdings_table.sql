@@ -0,0 +1,41 @@
+-- V7__create_holdings_table.sql
+
+CREATE TABLE IF NOT EXISTS holdings (
+                                        user_id VARCHAR(255) NOT NULL,
+                                        crypto_id VARCHAR(255) NOT NULL,
+                                        quantity NUMERIC(28, 8) NOT NULL DEFAULT 0,
+                                        total_cost NUMERIC(28, 8) NOT NULL DEFAULT 0,
+                                        realized_pnl NUMERIC(28, 8) NOT NULL DEFAULT 0,
+                                        updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                                        PRIMARY KEY (user_id, crypto_id)
+);
+
+-- Backfill from already completed transactions, replayed in order because average cost depends on it
+DO $$
+DECLARE
+    t RECORD;
+BEGIN
+    FOR t IN
+        SELECT user_id, crypto_id, transaction_type, quantity, total_spent
+        FROM transactions
+        WHERE status = 'COMPLETED'
+        ORDER BY created_at
+    LOOP
+        IF t.transaction_type = 'BUY' THEN
+            INSERT INTO holdings AS h (user_id, crypto_id, quantity, total_cost, realized_pnl, updated_at)
+            VALUES (t.user_id, t.crypto_id, t.quantity, t.total_spent, 0, NOW())
+            ON CONFLICT (user_id, crypto_id) DO UPDATE SET
+                quantity = h.quantity + EXCLUDED.quantity,
+                total_cost = h.total_cost + EXCLUDED.total_cost;
+        ELSE
+            INSERT INTO holdings AS h (user_id, crypto_id, quantity, total_cost, realized_pnl, updated_at)
+            VALUES (t.user_id, t.crypto_id, -1 * t.quantity, 0, t.total_spent, NOW())
+            ON CONFLICT (user_id, crypto_id) DO UPDATE SET
+                realized_pnl = h.realized_pnl + EXCLUDED.realized_pnl -
+                    CASE WHEN h.quantity > 0 THEN h.total_cost * LEAST(t.quantity, h.quantity) / h.quantity ELSE 0 END,
+                total_cost = h.total_cost -
+                    CASE WHEN h.quantity > 0 THEN h.total_cost * LEAST(t.quantity, h.quantity) / h.quantity ELSE 0 END,
+                quantity = h.quantity - t.quantity;
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,13 @@
+-- V8__create_idempotency_keys_table.sql
+
+-- One row per Idempotency-Key a user sent to POST /transactions. The row is claimed before the
+-- transaction is inserted; transaction_id is filled in within the same database transaction.
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+                                                user_id VARCHAR(255) NOT NULL,
+                                                idempotency_key VARCHAR(255) NOT NULL,
+                                                transaction_id UUID,
+                                                created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                                                PRIMARY KEY (user_id, idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
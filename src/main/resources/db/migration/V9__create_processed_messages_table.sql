@@ -0,0 +1,11 @@
+-- V9__create_processed_messages_table.sql
+
+-- Saga response events that have been applied, keyed by (saga_id, event_type)
+CREATE TABLE IF NOT EXISTS processed_messages (
+                                                  saga_id VARCHAR(255) NOT NULL,
+                                                  event_type VARCHAR(50) NOT NULL,
+                                                  processed_at TIMESTAMP NOT NULL DEFAULT NOW(),
+                                                  PRIMARY KEY (saga_id, event_type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_processed_messages_processed_at ON processed_messages (processed_at);
@@ -0,0 +1,171 @@
+package com.tokentrackr.transaction_service.fixedpoint;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixedPointsTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    record Amounts(Money total, Quantity quantity, Price price) {
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0",
+            "1, 100",
+            "+1, 100",
+            "-1, -100",
+            "-0, 0",
+            "-0.00, 0",
+            "12.5, 1250",
+            "-12.5, -1250",
+            "0.01, 1",
+            "-0.01, -1",
+            ".5, 50",
+            "5., 500",
+            "007407.41, 740741",
+            "0000000000000000000000001, 100",
+            "7407.40, 740740",
+            "7407.4000000000000000000000, 740740",
+            "92233720368547758.07, 9223372036854775807",
+            "-92233720368547758.07, -9223372036854775807"
+    })
+    void parsesPlainDecimals(String text, long unscaled) {
+        assertThat(FixedPoints.parse(text, Money.SCALE)).isEqualTo(unscaled);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1e2, 10000",
+            "1E+2, 10000",
+            "-2.5e1, -2500",
+            "1234e-2, 1234",
+            "0.5E-1, 5",
+            "100e-4, 1"
+    })
+    void parsesExponentNotation(String text, long unscaled) {
+        assertThat(FixedPoints.parse(text, Money.SCALE)).isEqualTo(unscaled);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.001", "-0.001", "7407.405", "1e-3", "0.0000000000000000000000001"})
+    void rejectsMoreFractionDigitsThanTheScale(String text) {
+        assertThatThrownBy(() -> FixedPoints.parse(text, Money.SCALE)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void acceptsFractionDigitsUpToTheScale() {
+        assertThat(FixedPoints.parse("0.00000001", Quantity.SCALE)).isEqualTo(1);
+        assertThatThrownBy(() -> FixedPoints.parse("0.000000001", Quantity.SCALE))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "9223372036854775808",
+            "-9223372036854775809",
+            "92233720368547758.08",
+            "100000000000000000",
+            "1.0000000000000000001",
+            "99999999999999999999999999",
+            "1e17",
+            "1e400"
+    })
+    void rejectsValuesBeyondLong(String text) {
+        assertThatThrownBy(() -> FixedPoints.parse(text, Money.SCALE)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "-", "+", ".", "-.", "1.2.3", "1,5", "--1", "+-1", "1-", " 1", "1 ", "abc", "0x10", "1e", "e5", "NaN", "Infinity"})
+    void rejectsMalformedInput(String text) {
+        assertThatThrownBy(() -> FixedPoints.parse(text, Money.SCALE)).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void parsesASliceOfACharacterBuffer() {
+        char[] chars = "[-12.50]".toCharArray();
+
+        assertThat(FixedPoints.parse(chars, 1, 6, Money.SCALE)).isEqualTo(-1250);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 2, 0.00",
+            "1, 2, 0.01",
+            "-1, 2, -0.01",
+            "740740, 2, 7407.40",
+            "-250000000, 8, -2.50000000",
+            "42, 0, 42",
+            "-9223372036854775808, 2, -92233720368547758.08"
+    })
+    void formatsWithExactlyScaleFractionDigits(long unscaled, int scale, String text) {
+        assertThat(FixedPoints.format(unscaled, scale)).isEqualTo(text);
+    }
+
+    @Test
+    void convertsBigDecimalsWithoutRounding() {
+        assertThat(Money.of(new BigDecimal("7407.4"))).isEqualTo(new Money(740740));
+        assertThat(Money.of(null)).isNull();
+        assertThatThrownBy(() -> Money.of(new BigDecimal("7407.405"))).isInstanceOf(ArithmeticException.class);
+        assertThat(new Money(740740).toBigDecimal()).isEqualByComparingTo("7407.40");
+    }
+
+    @Test
+    void rescalesExactly() {
+        assertThat(FixedPoints.rescale(25, 1, 8)).isEqualTo(250_000_000);
+        assertThat(FixedPoints.rescale(250_000_000, 8, 2)).isEqualTo(250);
+        assertThatThrownBy(() -> FixedPoints.rescale(1, 8, 2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedPoints.rescale(Long.MAX_VALUE, 0, 2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedPoints.rescale(1, -40, 2)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void sharesArithmeticAcrossTypes() {
+        assertThat(Money.parse("1.50").plus(Money.parse("-2.25"))).isEqualTo(Money.parse("-0.75"));
+        assertThat(Money.parse("-0.75").signum()).isEqualTo(-1);
+        assertThat(Quantity.parse("0.5")).isLessThan(Quantity.parse("0.50000001"));
+        assertThat(Price.parse("2962.96")).isEqualByComparingTo(Price.parse("2962.960"));
+        assertThatThrownBy(() -> new Money(Long.MAX_VALUE).plus(new Money(1))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void readsJsonNumbersAndNumericStrings() throws Exception {
+        Amounts amounts = objectMapper.readValue(
+                "{\"total\":7407.4,\"quantity\":\"2.5\",\"price\":2.96296e3}", Amounts.class);
+
+        assertThat(amounts).isEqualTo(new Amounts(new Money(740740), new Quantity(250_000_000), new Price(296_296_000_000L)));
+    }
+
+    @Test
+    void writesJsonNumbersWithTheTypesScale() throws Exception {
+        Amounts amounts = new Amounts(new Money(-740740), new Quantity(1), new Price(0));
+
+        assertThat(objectMapper.writeValueAsString(amounts))
+                .isEqualTo("{\"total\":-7407.40,\"quantity\":0.00000001,\"price\":0.00000000}");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"7407.405", "92233720368547758.08", "\"1.2.3\"", "\"\"", "\" 1\"", "1e400"})
+    void rejectsInvalidJsonAmountsAsInvalidFormat(String total) {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"total\":" + total + "}", Amounts.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"true", "[1]", "{}"})
+    void rejectsNonNumericJsonTokens(String total) {
+        assertThatThrownBy(() -> objectMapper.readValue("{\"total\":" + total + "}", Amounts.class))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+}
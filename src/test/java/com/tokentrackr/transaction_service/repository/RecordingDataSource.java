@@ -0,0 +1,147 @@
+package com.tokentrackr.transaction_service.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every statement prepared through the application's data source with the values bound to it,
+ * so query plan tests EXPLAIN exactly the SQL that Hibernate and the JDBC repositories send.
+ * For a batch only the first row's values are kept.
+ */
+class RecordingDataSource extends DelegatingDataSource {
+
+    record QueryPlan(String sql, List<String> lines) {
+    }
+
+    private record Binding(Method setter, Object[] args) {
+    }
+
+    private record RecordedStatement(String sql, List<Binding> bindings) {
+    }
+
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    RecordingDataSource(DataSource target) {
+        super(target);
+    }
+
+    /**
+     * Runs the call and explains each statement it prepared, with the values it bound, on the same connection.
+     */
+    List<QueryPlan> explain(Runnable call) {
+        statements.clear();
+        call.run();
+        List<RecordedStatement> recorded = List.copyOf(statements);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(this);
+        List<QueryPlan> plans = new ArrayList<>();
+        for (RecordedStatement statement : recorded) {
+            List<String> lines = jdbcTemplate.query("EXPLAIN " + statement.sql(), ps -> {
+                for (Binding binding : statement.bindings()) {
+                    invoke(binding.setter(), ps, binding.args());
+                }
+            }, (rs, rowNum) -> rs.getString(1));
+            plans.add(new QueryPlan(statement.sql(), lines));
+        }
+        return plans;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recording(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recording(super.getConnection(username, password));
+    }
+
+    private Connection recording(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(method, connection, args);
+            if (method.getName().equals("prepareStatement")) {
+                RecordedStatement statement = new RecordedStatement((String) args[0], new ArrayList<>());
+                statements.add(statement);
+                return recording((PreparedStatement) result, statement);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement recording(PreparedStatement ps, RecordedStatement statement) {
+        boolean[] batched = {false};
+        return proxy(PreparedStatement.class, ps, (method, args) -> {
+            String name = method.getName();
+            if (name.equals("addBatch")) {
+                batched[0] = true;
+            } else if (!batched[0] && name.equals("clearParameters")) {
+                statement.bindings().clear();
+            } else if (!batched[0] && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer) {
+                statement.bindings().add(new Binding(method, args));
+            }
+            return invoke(method, ps, args);
+        });
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws SQLException;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> method.getDeclaringClass() == Object.class
+                        ? method.invoke(target, args)
+                        : handler.handle(method, args));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Wraps the application's data source; import into the test slice.
+     */
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Config {
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)
+                            ? new RecordingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+}
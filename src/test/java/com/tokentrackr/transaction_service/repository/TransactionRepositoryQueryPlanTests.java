@@ -0,0 +1,107 @@
+package com.tokentrackr.transaction_service.repository;
+
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+import com.tokentrackr.transaction_service.repository.RecordingDataSource.QueryPlan;
+import com.tokentrackr.transaction_service.repository.TransactionRepositoryCustom.StatusUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls {@link TransactionRepository} methods against a seeded table, EXPLAINs the statements they sent
+ * with the values they bound, and fails if any of them is planned as a sequential scan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RecordingDataSource.Config.class)
+@Testcontainers
+class TransactionRepositoryQueryPlanTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("transactions_p\\d{4}_\\d{2}");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingDataSource recordingDataSource;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    // Seeded inside each test's transaction, so it is rolled back afterwards
+    @BeforeEach
+    void seedTransactions() {
+        // The seed spans the previous month, which the migration does not pre-create on an empty table
+        jdbcTemplate.execute("SELECT create_transactions_partition((NOW() - INTERVAL '2 months')::date)");
+        jdbcTemplate.execute("SELECT create_transactions_partition((NOW() - INTERVAL '1 month')::date)");
+        jdbcTemplate.execute("""
+                INSERT INTO transactions (crypto_id, user_id, transaction_type, quantity, total_spent,
+                                          price_per_coin, status, saga_id, created_at)
+                SELECT 'crypto-' || (g % 50),
+                       'user-' || (g % 1000),
+                       CASE WHEN g % 2 = 0 THEN 'BUY' ELSE 'SELL' END,
+                       1, 100, 100,
+                       CASE WHEN g % 10 = 0 THEN 'PENDING' ELSE 'COMPLETED' END,
+                       gen_random_uuid()::text,
+                       NOW() - (g || ' minutes')::interval
+                FROM generate_series(1, 50000) AS g
+                """);
+        jdbcTemplate.execute("ANALYZE transactions");
+    }
+
+    @Test
+    void findBySagaId() {
+        assertNoSeqScan(recordingDataSource.explain(() -> transactionRepository.findBySagaId("missing-saga")));
+    }
+
+    @Test
+    void findByIdAndUserId() {
+        assertNoSeqScan(recordingDataSource.explain(() -> transactionRepository.findByIdAndUserId(UUID.randomUUID(), "user-42")));
+    }
+
+    @Test
+    void updateStatusesIsPrunedToOnePartition() {
+        List<QueryPlan> plans = recordingDataSource.explain(() -> transactionRepository.updateStatuses(List.of(
+                new StatusUpdate(UUID.randomUUID(), "user-42", LocalDateTime.now(), TransactionStatus.COMPLETED, null))));
+
+        assertThat(plans).isNotEmpty().allSatisfy(plan -> assertThat(plan.lines().stream()
+                .flatMap(line -> PARTITION_NAME.matcher(line).results().map(MatchResult::group))
+                .distinct())
+                .as(description(plan))
+                .hasSize(1));
+    }
+
+    // Empty future partitions are legitimately planned as (free) sequential scans, so only partitions holding rows count
+    private void assertNoSeqScan(List<QueryPlan> plans) {
+        List<String> populatedPartitions = jdbcTemplate.queryForList(
+                "SELECT DISTINCT tableoid::regclass::text FROM transactions", String.class);
+        assertThat(plans).isNotEmpty().allSatisfy(plan -> assertThat(plan.lines())
+                .as(description(plan))
+                .noneMatch(line -> line.contains("Seq Scan") && populatedPartitions.stream()
+                        .anyMatch(partition -> line.contains(" on " + partition + " ") || line.endsWith(" on " + partition))));
+    }
+
+    private static String description(QueryPlan plan) {
+        return String.format("Query plan for: %s%n%s", plan.sql(), String.join(System.lineSeparator(), plan.lines()));
+    }
+}
@@ -0,0 +1,117 @@
+package com.tokentrackr.transaction_service.repository;
+
+import com.tokentrackr.transaction_service.enums.TransactionStatus;
+import com.tokentrackr.transaction_service.repository.RecordingDataSource.QueryPlan;
+import com.tokentrackr.transaction_service.repository.TransactionRepositoryCustom.StatusUpdate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Calls {@link TransactionViewRepository} methods against a seeded table, EXPLAINs the statements they sent
+ * with the values they bound, and fails if any of them is planned as a sequential scan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RecordingDataSource.Config.class)
+@Testcontainers
+class TransactionViewRepositoryQueryPlanTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecordingDataSource recordingDataSource;
+
+    @Autowired
+    private TransactionViewRepository transactionViewRepository;
+
+    // Seeded inside each test's transaction, so it is rolled back afterwards
+    @BeforeEach
+    void seedTransactionViews() {
+        jdbcTemplate.execute("""
+                INSERT INTO transaction_views (user_id, id, crypto_id, transaction_type, quantity, total_spent,
+                                               price_per_coin, status, created_at)
+                SELECT 'user-' || (g % 1000),
+                       gen_random_uuid(),
+                       'crypto-' || (g % 50),
+                       CASE WHEN g % 2 = 0 THEN 'BUY' ELSE 'SELL' END,
+                       1, 100, 100,
+                       CASE WHEN g % 10 = 0 THEN 'PENDING' ELSE 'COMPLETED' END,
+                       NOW() - (g || ' minutes')::interval
+                FROM generate_series(1, 50000) AS g
+                """);
+        jdbcTemplate.execute("ANALYZE transaction_views");
+    }
+
+    @Test
+    void findByUserIdOrderByCreatedAtDesc() {
+        // The page and, because it is full, the count query
+        assertNoSeqScan(recordingDataSource.explain(() ->
+                transactionViewRepository.findByUserIdOrderByCreatedAtDesc("user-42", PageRequest.of(1, 20))));
+    }
+
+    @Test
+    void findLatestByUserId() {
+        assertNoSeqScan(recordingDataSource.explain(() -> transactionViewRepository.findLatestByUserId("user-42", 21)));
+    }
+
+    @Test
+    void findByUserIdBeforeCursor() {
+        assertNoSeqScan(recordingDataSource.explain(() -> transactionViewRepository.findByUserIdBeforeCursor(
+                "user-42", LocalDateTime.now(), UUID.randomUUID(), 21)));
+    }
+
+    @Test
+    void findByUserIdAndCryptoIdOrderByCreatedAtDesc() {
+        assertNoSeqScan(recordingDataSource.explain(() ->
+                transactionViewRepository.findByUserIdAndCryptoIdOrderByCreatedAtDesc("user-42", "crypto-42")));
+    }
+
+    @Test
+    void findByUserIdAndId() {
+        assertNoSeqScan(recordingDataSource.explain(() -> transactionViewRepository.findByUserIdAndId("user-42", UUID.randomUUID())));
+    }
+
+    @Test
+    void forEachByUserId() {
+        assertNoSeqScan(recordingDataSource.explain(() -> transactionViewRepository.forEachByUserId("user-42", 100, view -> {
+        })));
+    }
+
+    @Test
+    void updateStatuses() {
+        assertNoSeqScan(recordingDataSource.explain(() -> transactionViewRepository.updateStatuses(List.of(
+                new StatusUpdate(UUID.randomUUID(), "user-42", LocalDateTime.now(), TransactionStatus.COMPLETED, null)))));
+    }
+
+    @Test
+    void deleteByUserIdAndId() {
+        assertNoSeqScan(recordingDataSource.explain(() -> transactionViewRepository.deleteByUserIdAndId("user-42", UUID.randomUUID())));
+    }
+
+    private void assertNoSeqScan(List<QueryPlan> plans) {
+        assertThat(plans).isNotEmpty().allSatisfy(plan -> assertThat(plan.lines())
+                .as("Query plan for: %s%n%s", plan.sql(), String.join(System.lineSeparator(), plan.lines()))
+                .noneMatch(line -> line.contains("Seq Scan")));
+    }
+}
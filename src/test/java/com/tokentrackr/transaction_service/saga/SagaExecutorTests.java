@@ -0,0 +1,132 @@
+package com.tokentrackr.transaction_service.saga;
+
+import com.tokentrackr.transaction_service.saga.SagaExecutor.FailedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SagaExecutorTests {
+
+    record Event(String sagaId, int sequence) {
+    }
+
+    private SagaExecutor sagaExecutor;
+
+    @AfterEach
+    void shutdown() {
+        sagaExecutor.shutdown();
+    }
+
+    @Test
+    void keepsEachSagasEventsInOrderOnOneLane() {
+        start(4);
+        List<Event> events = IntStream.range(0, 200)
+                .mapToObj(i -> new Event("saga-" + (i % 10), i))
+                .toList();
+        Map<String, List<Integer>> handled = new ConcurrentHashMap<>();
+        Map<String, String> threads = new ConcurrentHashMap<>();
+        List<String> conflicts = new CopyOnWriteArrayList<>();
+
+        List<FailedEvent<Event>> failures = sagaExecutor.executeBatch(events, Event::sagaId, batch -> {
+            for (Event event : batch) {
+                handled.computeIfAbsent(event.sagaId(), id -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(event.sequence());
+                String previous = threads.putIfAbsent(event.sagaId(), Thread.currentThread().getName());
+                if (previous != null && !previous.equals(Thread.currentThread().getName())) {
+                    conflicts.add(event.sagaId());
+                }
+            }
+        });
+
+        assertThat(failures).isEmpty();
+        assertThat(conflicts).isEmpty();
+        assertThat(handled).hasSize(10);
+        handled.forEach((sagaId, sequences) -> assertThat(sequences)
+                .as("events of %s", sagaId)
+                .hasSize(20)
+                .isSorted());
+    }
+
+    @Test
+    void runsQueuedWorkForOneSagaInSubmissionOrder() {
+        start(4);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            int step = i;
+            sagaExecutor.submit("saga-1", () -> order.add(step));
+        }
+        sagaExecutor.execute("saga-1", () -> order.add(50));
+
+        assertThat(order).containsExactlyElementsOf(IntStream.rangeClosed(0, 50).boxed().toList());
+    }
+
+    @Test
+    void retriesAFailedSubBatchOneEventAtATime() {
+        start(1);
+        List<Event> events = List.of(new Event("saga-1", 1), new Event("saga-2", 2), new Event("saga-3", 3));
+        List<List<Event>> calls = new CopyOnWriteArrayList<>();
+
+        List<FailedEvent<Event>> failures = sagaExecutor.executeBatch(events, Event::sagaId, batch -> {
+            calls.add(batch);
+            if (batch.contains(events.get(1))) {
+                throw new IllegalStateException("bad event");
+            }
+        });
+
+        assertThat(calls).containsExactly(events, List.of(events.get(0)), List.of(events.get(1)), List.of(events.get(2)));
+        assertThat(failures).singleElement().satisfies(failure -> {
+            assertThat(failure.event()).isEqualTo(events.get(1));
+            assertThat(failure.error()).hasMessage("bad event");
+        });
+    }
+
+    @Test
+    void reportsASingleFailedEventWithoutRetrying() {
+        start(1);
+        Event event = new Event("saga-1", 1);
+        List<List<Event>> calls = new CopyOnWriteArrayList<>();
+
+        List<FailedEvent<Event>> failures = sagaExecutor.executeBatch(List.of(event), Event::sagaId, batch -> {
+            calls.add(batch);
+            throw new IllegalStateException("bad event");
+        });
+
+        assertThat(calls).hasSize(1);
+        assertThat(failures).extracting(FailedEvent::event).containsExactly(event);
+    }
+
+    @Test
+    void executeRethrowsAndSubmitKeepsTheLaneRunning() {
+        start(1);
+        List<String> ran = new CopyOnWriteArrayList<>();
+
+        assertThatThrownBy(() -> sagaExecutor.execute("saga-1", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        sagaExecutor.submit("saga-1", () -> {
+            throw new IllegalStateException("boom");
+        });
+        sagaExecutor.execute("saga-1", () -> ran.add("after"));
+
+        assertThat(ran).containsExactly("after");
+    }
+
+    private void start(int lanes) {
+        sagaExecutor = new SagaExecutor();
+        ReflectionTestUtils.setField(sagaExecutor, "configuredLanes", lanes);
+        sagaExecutor.init();
+    }
+}
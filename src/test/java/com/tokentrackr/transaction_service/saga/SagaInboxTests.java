@@ -0,0 +1,140 @@
+package com.tokentrackr.transaction_service.saga;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tokentrackr.transaction_service.config.CacheConfig.SagaInboxKey;
+import com.tokentrackr.transaction_service.enums.SagaEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// The mocked JdbcTemplate behaves like the ON CONFLICT DO NOTHING insert into processed_messages
+class SagaInboxTests {
+
+    record Event(String sagaId, int sequence) {
+    }
+
+    private final Set<String> processedInDatabase = new HashSet<>();
+    private final List<List<String>> inserts = new ArrayList<>();
+    private final Cache<SagaInboxKey, Boolean> cache = Caffeine.newBuilder().build();
+    private SagaInbox sagaInbox;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    List<String> bound = bind(invocation.getArgument(1));
+                    String eventType = bound.get(0);
+                    List<String> sagaIds = List.copyOf(bound.subList(1, bound.size()));
+                    inserts.add(sagaIds);
+                    return sagaIds.stream().filter(sagaId -> processedInDatabase.add(eventType + ":" + sagaId)).toList();
+                });
+        sagaInbox = new SagaInbox(jdbcTemplate, cache);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void keepsTheFirstOfEachSagasEventsInOrder() {
+        List<Event> events = List.of(new Event("saga-2", 1), new Event("saga-1", 2), new Event("saga-2", 3));
+
+        List<Event> unprocessed = sagaInbox.filterUnprocessed(events, SagaEventType.BALANCE_UPDATED, Event::sagaId);
+
+        assertThat(unprocessed).containsExactly(events.get(0), events.get(1));
+        assertThat(inserts).containsExactly(List.of("saga-2", "saga-1"));
+    }
+
+    @Test
+    void dropsEventsAlreadyRecordedInTheDatabase() {
+        processedInDatabase.add("BALANCE_UPDATED:saga-1");
+        List<Event> events = List.of(new Event("saga-1", 1), new Event("saga-2", 2));
+
+        List<Event> unprocessed = sagaInbox.filterUnprocessed(events, SagaEventType.BALANCE_UPDATED, Event::sagaId);
+
+        assertThat(unprocessed).containsExactly(events.get(1));
+        assertThat(cache.asMap()).containsOnlyKeys(new SagaInboxKey("saga-1", SagaEventType.BALANCE_UPDATED));
+    }
+
+    @Test
+    void cachesRecordedEventsOnlyAfterCommit() {
+        List<Event> events = List.of(new Event("saga-1", 1));
+        sagaInbox.filterUnprocessed(events, SagaEventType.ASSET_UPDATED, Event::sagaId);
+        assertThat(cache.asMap()).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        List<Event> redelivered = sagaInbox.filterUnprocessed(events, SagaEventType.ASSET_UPDATED, Event::sagaId);
+
+        assertThat(cache.asMap()).containsOnlyKeys(new SagaInboxKey("saga-1", SagaEventType.ASSET_UPDATED));
+        assertThat(redelivered).isEmpty();
+        assertThat(inserts).hasSize(1);
+    }
+
+    @Test
+    void rolledBackEventsAreProcessedAgain() {
+        List<Event> events = List.of(new Event("saga-1", 1));
+        sagaInbox.filterUnprocessed(events, SagaEventType.ASSET_UPDATED, Event::sagaId);
+
+        // The insert rolled back with the handler's transaction, and afterCommit never ran
+        processedInDatabase.clear();
+        List<Event> redelivered = sagaInbox.filterUnprocessed(events, SagaEventType.ASSET_UPDATED, Event::sagaId);
+
+        assertThat(redelivered).containsExactlyElementsOf(events);
+        assertThat(inserts).hasSize(2);
+    }
+
+    @Test
+    void deduplicatesPerEventType() {
+        List<Event> events = List.of(new Event("saga-1", 1));
+        sagaInbox.filterUnprocessed(events, SagaEventType.BALANCE_UPDATED, Event::sagaId);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        List<Event> failed = sagaInbox.filterUnprocessed(events, SagaEventType.BALANCE_UPDATE_FAILED, Event::sagaId);
+
+        assertThat(failed).containsExactlyElementsOf(events);
+    }
+
+    // Returns the bound event type followed by the saga ids
+    private static List<String> bind(PreparedStatementSetter setter) throws Exception {
+        PreparedStatement ps = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(ps.getConnection()).thenReturn(connection);
+        List<String> bound = new ArrayList<>();
+        doAnswer(invocation -> {
+            bound.add(0, invocation.getArgument(1));
+            return null;
+        }).when(ps).setString(eq(1), anyString());
+        doAnswer(invocation -> {
+            bound.addAll(Arrays.asList((String[]) invocation.getArgument(1)));
+            return null;
+        }).when(connection).createArrayOf(anyString(), any());
+        setter.setValues(ps);
+        return bound;
+    }
+}
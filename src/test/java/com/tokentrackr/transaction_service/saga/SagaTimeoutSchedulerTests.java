@@ -0,0 +1,127 @@
+package com.tokentrackr.transaction_service.saga;
+
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// A wheel of 8 buckets of 10 ms turns in 80 ms, so the 200 ms timeout needs several rounds
+class SagaTimeoutSchedulerTests {
+
+    private static final long TIMEOUT_MS = 200;
+
+    private record Fired(String sagaId, long atNanos) {
+    }
+
+    private final BlockingQueue<Fired> fired = new LinkedBlockingQueue<>();
+    private final InMemorySagaStateStore sagaStateStore = new InMemorySagaStateStore();
+    private SagaExecutor sagaExecutor;
+    private SagaTimeoutScheduler scheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        sagaExecutor = new SagaExecutor();
+        ReflectionTestUtils.setField(sagaExecutor, "configuredLanes", 1);
+        sagaExecutor.init();
+
+        TransactionSagaOrchestrator orchestrator = mock(TransactionSagaOrchestrator.class);
+        doAnswer(invocation -> fired.add(new Fired(invocation.getArgument(0), System.nanoTime())))
+                .when(orchestrator).handleSagaTimeout(anyString());
+        ObjectProvider<TransactionSagaOrchestrator> orchestratorProvider = mock(ObjectProvider.class);
+        when(orchestratorProvider.getObject()).thenReturn(orchestrator);
+
+        scheduler = new SagaTimeoutScheduler(sagaExecutor, orchestratorProvider, sagaStateStore);
+        ReflectionTestUtils.setField(scheduler, "timeoutMs", TIMEOUT_MS);
+        ReflectionTestUtils.setField(scheduler, "tickMs", 10L);
+        ReflectionTestUtils.setField(scheduler, "wheelSize", 8);
+        ReflectionTestUtils.setField(scheduler, "recoveryGraceMs", 50L);
+        scheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        scheduler.stop();
+        sagaExecutor.shutdown();
+    }
+
+    @Test
+    void firesOnceAfterTheDeadline() throws InterruptedException {
+        long scheduledAt = System.nanoTime();
+        scheduler.schedule("saga-1");
+
+        Fired timeout = fired.poll(2, TimeUnit.SECONDS);
+
+        assertThat(timeout).isNotNull();
+        assertThat(timeout.sagaId()).isEqualTo("saga-1");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(timeout.atNanos() - scheduledAt)).isGreaterThanOrEqualTo(TIMEOUT_MS - 10);
+        assertThat(fired.poll(TIMEOUT_MS * 2, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(scheduler.pendingCount()).isZero();
+    }
+
+    @Test
+    void cancelledDeadlineNeverFires() throws InterruptedException {
+        scheduler.schedule("saga-1");
+        scheduler.schedule("saga-2");
+        Thread.sleep(50);
+        scheduler.cancel("saga-1");
+
+        Fired timeout = fired.poll(2, TimeUnit.SECONDS);
+
+        assertThat(timeout).isNotNull();
+        assertThat(timeout.sagaId()).isEqualTo("saga-2");
+        assertThat(fired.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(scheduler.pendingCount()).isZero();
+    }
+
+    @Test
+    void reschedulingReplacesTheDeadline() throws InterruptedException {
+        scheduler.schedule("saga-1");
+        Thread.sleep(TIMEOUT_MS / 2);
+        long rescheduledAt = System.nanoTime();
+        scheduler.schedule("saga-1");
+
+        Fired timeout = fired.poll(2, TimeUnit.SECONDS);
+
+        assertThat(timeout).isNotNull();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(timeout.atNanos() - rescheduledAt)).isGreaterThanOrEqualTo(TIMEOUT_MS - 10);
+        assertThat(fired.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void rearmsActiveSagasFromTheStoreOnly() throws InterruptedException {
+        sagaStateStore.create(List.of(
+                sagaState("overdue", Instant.now().minusSeconds(60), false),
+                sagaState("finished", Instant.now().minusSeconds(60), true)));
+
+        scheduler.rearmActiveSagas();
+
+        Fired timeout = fired.poll(2, TimeUnit.SECONDS);
+        assertThat(timeout).isNotNull();
+        assertThat(timeout.sagaId()).isEqualTo("overdue");
+        assertThat(fired.poll(TIMEOUT_MS, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    private static TransactionSagaState sagaState(String sagaId, Instant startedAt, boolean completed) {
+        return TransactionSagaState.builder()
+                .sagaId(sagaId)
+                .transactionType(TransactionType.BUY)
+                .completed(completed)
+                .startedAt(startedAt)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+package com.tokentrackr.transaction_service.service.impl;
+
+import com.tokentrackr.transaction_service.exception.TooManyRequestsException;
+import com.tokentrackr.transaction_service.saga.ActiveSagaCount;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// One transaction per second keeps the buckets from refilling noticeably while a test runs
+class AdmissionServiceImplTests {
+
+    private static final int MAX_IN_FLIGHT = 100;
+    private static final long IN_FLIGHT_RETRY_AFTER_SECONDS = 3;
+    private static final int BURST = 5;
+
+    private final ActiveSagaCount activeSagaCount = mock(ActiveSagaCount.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void admitsABurstThenRejectsUntilTheNextToken() {
+        AdmissionServiceImpl admissionService = admissionService(1);
+        signIn("user-1");
+
+        for (int i = 0; i < BURST; i++) {
+            admissionService.admit(1);
+        }
+
+        assertThatThrownBy(() -> admissionService.admit(1))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+        assertThat(rejections("user_rate")).isEqualTo(1);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        AdmissionServiceImpl admissionService = admissionService(20);
+        signIn("user-1");
+        admissionService.admit(BURST);
+        assertThatThrownBy(() -> admissionService.admit(1)).isInstanceOf(TooManyRequestsException.class);
+
+        Thread.sleep(60);
+
+        admissionService.admit(1);
+    }
+
+    @Test
+    void countsEveryTransactionOfABatch() {
+        AdmissionServiceImpl admissionService = admissionService(1);
+        signIn("user-1");
+
+        assertThatThrownBy(() -> admissionService.admit(BURST + 1)).isInstanceOf(IllegalArgumentException.class);
+        admissionService.admit(BURST - 1);
+        assertThatThrownBy(() -> admissionService.admit(2)).isInstanceOf(TooManyRequestsException.class);
+        admissionService.admit(1);
+    }
+
+    @Test
+    void keepsABucketPerUser() {
+        AdmissionServiceImpl admissionService = admissionService(1);
+        signIn("user-1");
+        admissionService.admit(BURST);
+        assertThatThrownBy(() -> admissionService.admit(1)).isInstanceOf(TooManyRequestsException.class);
+
+        signIn("user-2");
+
+        admissionService.admit(BURST);
+    }
+
+    @Test
+    void rejectsWhenTooManySagasAreInFlightWithoutTakingTokens() {
+        AdmissionServiceImpl admissionService = admissionService(1);
+        signIn("user-1");
+        when(activeSagaCount.get()).thenReturn((long) MAX_IN_FLIGHT - 1);
+
+        assertThatThrownBy(() -> admissionService.admit(2))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(IN_FLIGHT_RETRY_AFTER_SECONDS));
+        assertThat(rejections("in_flight")).isEqualTo(1);
+
+        when(activeSagaCount.get()).thenReturn(0L);
+        admissionService.admit(BURST);
+        assertThat(rejections("user_rate")).isZero();
+    }
+
+    private AdmissionServiceImpl admissionService(double ratePerSecond) {
+        return new AdmissionServiceImpl(activeSagaCount, meterRegistry, MAX_IN_FLIGHT, IN_FLIGHT_RETRY_AFTER_SECONDS,
+                ratePerSecond, BURST, 1000);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("admission.rejected").tag("reason", reason).counter().count();
+    }
+
+    private static void signIn(String userId) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject(userId).build();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(jwt, null));
+    }
+}
@@ -0,0 +1,207 @@
+package com.tokentrackr.transaction_service.service.messaging.codec;
+
+import com.tokentrackr.transaction_service.dto.events.*;
+import com.tokentrackr.transaction_service.enums.TransactionType;
+import com.tokentrackr.transaction_service.fixedpoint.Money;
+import com.tokentrackr.transaction_service.fixedpoint.Price;
+import com.tokentrackr.transaction_service.fixedpoint.Quantity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SagaEventCodecTests {
+
+    private static final UUID TRANSACTION_ID = UUID.fromString("3f2a6c1e-8b4d-4e7a-9c0f-5d1b2e3a4f60");
+
+    static Stream<Object> events() {
+        return Stream.of(
+                BalanceUpdateEvent.builder()
+                        .sagaId("saga-1").transactionId(TRANSACTION_ID).userId("user-1")
+                        .amount(Money.parse("-7407.41")).isCompensation(true)
+                        .transactionType(TransactionType.BUY).build(),
+                BalanceUpdateEvent.builder().sagaId("saga-1").build(),
+                BalanceUpdatedEvent.builder()
+                        .sagaId("saga-1").transactionId(TRANSACTION_ID).userId("user-1")
+                        .success(true).build(),
+                BalanceUpdateFailedEvent.builder()
+                        .sagaId("saga-1").transactionId(TRANSACTION_ID).userId("user-1")
+                        .failureReason("Insufficient balance").build(),
+                AssetUpdateEvent.builder()
+                        .sagaId("saga-1").transactionId(TRANSACTION_ID).userId("user-1").cryptoId("bitcoin")
+                        .quantity(Quantity.parse("0.00000001")).isCompensation(false)
+                        .transactionType(TransactionType.SELL).build(),
+                AssetUpdatedEvent.builder()
+                        .sagaId("saga-1").transactionId(TRANSACTION_ID).userId("user-1")
+                        .success(false).failureReason("Asset service unavailable").build(),
+                AssetUpdateFailedEvent.builder()
+                        .sagaId("saga-1").transactionId(TRANSACTION_ID).userId("user-1")
+                        .failureReason("Insufficient holdings").build(),
+                TransactionCreatedEvent.builder()
+                        .transactionId(TRANSACTION_ID).sagaId("saga-1").userId("user-1").cryptoId("ethereum")
+                        .transactionType(TransactionType.BUY)
+                        .quantity(Quantity.parse("2.5"))
+                        .totalSpent(Money.parse("7407.40"))
+                        .pricePerCoin(Price.parse("2962.96")).build(),
+                TransactionCompletedEvent.builder()
+                        .sagaId("saga-1").transactionId(TRANSACTION_ID).userId("user-1").build(),
+                TransactionFailedEvent.builder()
+                        .sagaId("saga-1").transactionId(TRANSACTION_ID).userId("üser")
+                        .failureReason("Saga timed out").build());
+    }
+
+    @ParameterizedTest
+    @MethodSource("events")
+    void roundTripsEachEvent(Object event) {
+        assertThat(SagaEventCodec.decode(SagaEventCodec.encode(event))).isEqualTo(event);
+    }
+
+    @ParameterizedTest
+    @MethodSource("events")
+    void rejectsTruncatedInput(Object event) {
+        byte[] payload = SagaEventCodec.encode(event);
+        for (int length = 0; length < payload.length; length++) {
+            byte[] truncated = Arrays.copyOf(payload, length);
+            assertThatThrownBy(() -> SagaEventCodec.decode(truncated))
+                    .as("payload cut at %d of %d bytes", length, payload.length)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        assertThatThrownBy(() -> SagaEventCodec.decode(new byte[]{2, 1}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void rejectsUnknownTypeIds() {
+        for (int id : new int[]{0, 10, 15, 16, 255}) {
+            assertThatThrownBy(() -> SagaEventCodec.decode(new byte[]{1, (byte) id}))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("type id");
+        }
+    }
+
+    @Test
+    void rejectsUnknownTransactionTypeCode() {
+        BinaryWriter out = balanceUpdateHeader();
+        out.writeByte(0);
+        out.writeNullableBoolean(null);
+        out.writeByte(3);
+
+        assertThatThrownBy(() -> SagaEventCodec.decode(out.toByteArray()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("transaction type");
+    }
+
+    @Test
+    void rejectsUnknownDecimalMarker() {
+        BinaryWriter out = balanceUpdateHeader();
+        out.writeByte(3);
+
+        assertThatThrownBy(() -> SagaEventCodec.decode(out.toByteArray()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rescalesAmountsWrittenWithAnotherScale() {
+        BinaryWriter out = balanceUpdateHeader();
+        writeSmallDecimal(out, 74074, 1);
+        out.writeNullableBoolean(null);
+        out.writeByte(0);
+
+        BalanceUpdateEvent event = (BalanceUpdateEvent) SagaEventCodec.decode(out.toByteArray());
+
+        assertThat(event.getAmount()).isEqualTo(Money.parse("7407.40"));
+    }
+
+    @Test
+    void rejectsAmountsWithMoreFractionDigitsThanTheScale() {
+        BinaryWriter out = balanceUpdateHeader();
+        writeSmallDecimal(out, 740741, 3);
+
+        assertThatThrownBy(() -> SagaEventCodec.decode(out.toByteArray()))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void rejectsScalesThatOverflowOnRescale() {
+        for (long scale : new long[]{-30, -2_147_483_647L, 40, Integer.MAX_VALUE + 1L}) {
+            BinaryWriter out = balanceUpdateHeader();
+            writeSmallDecimal(out, 1, scale);
+
+            assertThatThrownBy(() -> SagaEventCodec.decode(out.toByteArray()))
+                    .as("scale %d", scale)
+                    .isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    @Test
+    void rejectsLargeDecimalsThatDoNotFitAfterRescaling() {
+        BinaryWriter out = balanceUpdateHeader();
+        out.writeByte(2);
+        byte[] unscaled = new BigInteger("1000000000000000000000").toByteArray();
+        out.writeVarLong(unscaled.length);
+        for (byte b : unscaled) {
+            out.writeByte(b);
+        }
+        out.writeVarLong(2);
+
+        assertThatThrownBy(() -> SagaEventCodec.decode(out.toByteArray()))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void rejectsNegativeLengths() {
+        BinaryWriter out = new BinaryWriter(16);
+        out.writeByte(1);
+        out.writeByte(1);
+        out.writeVarLong(-2);
+
+        assertThatThrownBy(() -> SagaEventCodec.decode(out.toByteArray()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void converterReportsBadScaleAsConversionFailure() {
+        BinaryWriter out = balanceUpdateHeader();
+        writeSmallDecimal(out, 1, 40);
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(SagaEventCodec.CONTENT_TYPE);
+        SagaEventMessageConverter converter = new SagaEventMessageConverter(new Jackson2JsonMessageConverter(), true);
+
+        assertThatThrownBy(() -> converter.fromMessage(new Message(out.toByteArray(), properties)))
+                .isInstanceOf(MessageConversionException.class)
+                .hasCauseInstanceOf(ArithmeticException.class);
+    }
+
+    // Version, BalanceUpdateEvent type id and every field up to the amount
+    private static BinaryWriter balanceUpdateHeader() {
+        BinaryWriter out = new BinaryWriter(64);
+        out.writeByte(1);
+        out.writeByte(1);
+        out.writeString("saga-1");
+        out.writeUuid(TRANSACTION_ID);
+        out.writeString("user-1");
+        return out;
+    }
+
+    private static void writeSmallDecimal(BinaryWriter out, long unscaled, long scale) {
+        out.writeByte(1);
+        out.writeVarLong(unscaled);
+        out.writeVarLong(scale);
+    }
+}
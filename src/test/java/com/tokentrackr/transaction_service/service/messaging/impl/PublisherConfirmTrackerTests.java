@@ -0,0 +1,158 @@
+package com.tokentrackr.transaction_service.service.messaging.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.core.RabbitTemplate.ConfirmCallback;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class PublisherConfirmTrackerTests {
+
+    private static final String EXCHANGE = "saga.direct";
+    private static final String ROUTING_KEY = "balance.update";
+    private static final String EVENT = "event";
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PublisherConfirmTracker tracker;
+    private ConfirmCallback confirmCallback;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new PublisherConfirmTracker(rabbitTemplate, meterRegistry);
+        ReflectionTestUtils.setField(tracker, "confirmType", "correlated");
+        ReflectionTestUtils.setField(tracker, "maxInFlight", 2);
+        ReflectionTestUtils.setField(tracker, "maxAttempts", 3);
+        ReflectionTestUtils.setField(tracker, "windowTimeoutMs", 100L);
+        tracker.init();
+
+        ArgumentCaptor<ConfirmCallback> callback = ArgumentCaptor.forClass(ConfirmCallback.class);
+        verify(rabbitTemplate).setConfirmCallback(callback.capture());
+        verify(rabbitTemplate).setMandatory(true);
+        confirmCallback = callback.getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.shutdown();
+    }
+
+    @Test
+    void completesOnceTheBrokerAcks() {
+        CompletableFuture<Void> result = tracker.send(EXCHANGE, ROUTING_KEY, EVENT);
+        assertThat(result).isNotDone();
+        assertThat(inFlight()).isEqualTo(1);
+
+        confirmCallback.confirm(publishes(1).get(0), true, null);
+
+        assertThat(result).isCompleted();
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void republishesANackedMessageUntilItIsAcked() {
+        CompletableFuture<Void> result = tracker.send(EXCHANGE, ROUTING_KEY, EVENT);
+
+        confirmCallback.confirm(publishes(1).get(0), false, "channel closed");
+        List<CorrelationData> correlations = publishes(2);
+        assertThat(result).isNotDone();
+        assertThat(correlations.get(1).getId()).isNotEqualTo(correlations.get(0).getId());
+
+        confirmCallback.confirm(correlations.get(1), true, null);
+
+        assertThat(result).isCompleted();
+        assertThat(meterRegistry.counter("rabbitmq.publisher.retries").count()).isEqualTo(1);
+    }
+
+    @Test
+    void republishesAReturnedMessage() {
+        CompletableFuture<Void> result = tracker.send(EXCHANGE, ROUTING_KEY, EVENT);
+        CorrelationData correlation = publishes(1).get(0);
+        correlation.setReturned(new ReturnedMessage(new Message(new byte[0], new MessageProperties()),
+                312, "NO_ROUTE", EXCHANGE, ROUTING_KEY));
+
+        // Unroutable messages are still acked, with the return attached to the correlation
+        confirmCallback.confirm(correlation, true, null);
+        confirmCallback.confirm(publishes(2).get(1), true, null);
+
+        assertThat(result).isCompleted();
+    }
+
+    @Test
+    void failsAfterTheLastAttemptAndFreesTheSlot() {
+        CompletableFuture<Void> result = tracker.send(EXCHANGE, ROUTING_KEY, EVENT);
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            confirmCallback.confirm(publishes(attempt).get(attempt - 1), false, "nack " + attempt);
+        }
+
+        assertThatThrownBy(result::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AmqpException.class)
+                .hasMessageContaining("nack 3");
+        assertThat(meterRegistry.counter("rabbitmq.publisher.failures").count()).isEqualTo(1);
+        assertThat(inFlight()).isZero();
+        tracker.send(EXCHANGE, ROUTING_KEY, EVENT);
+        tracker.send(EXCHANGE, ROUTING_KEY, EVENT);
+    }
+
+    @Test
+    void blocksPublishersWhileTheWindowIsFull() {
+        tracker.send(EXCHANGE, ROUTING_KEY, EVENT);
+        tracker.send(EXCHANGE, ROUTING_KEY, EVENT);
+
+        assertThatThrownBy(() -> tracker.send(EXCHANGE, ROUTING_KEY, EVENT))
+                .isInstanceOf(AmqpException.class)
+                .hasMessageContaining("2 in flight");
+
+        confirmCallback.confirm(publishes(2).get(0), true, null);
+        tracker.send(EXCHANGE, ROUTING_KEY, EVENT);
+        assertThat(inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void releasesTheSlotWhenSendingFails() {
+        doThrow(new AmqpException("connection refused"))
+                .when(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq(ROUTING_KEY), eq((Object) EVENT), any(CorrelationData.class));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> tracker.send(EXCHANGE, ROUTING_KEY, EVENT))
+                    .isInstanceOf(AmqpException.class)
+                    .hasMessage("connection refused");
+        }
+        assertThat(inFlight()).isZero();
+    }
+
+    // Retries are dispatched from another thread, so wait for the expected number of publishes
+    private List<CorrelationData> publishes(int count) {
+        ArgumentCaptor<CorrelationData> correlations = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(rabbitTemplate, timeout(1000).times(count))
+                .convertAndSend(eq(EXCHANGE), eq(ROUTING_KEY), eq((Object) EVENT), correlations.capture());
+        return correlations.getAllValues();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("rabbitmq.publisher.in.flight").gauge().value();
+    }
+}